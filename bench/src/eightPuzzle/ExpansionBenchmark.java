@@ -0,0 +1,58 @@
+package eightPuzzle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// expanding a node into the open list and explored set, per expanded node
+// the solver is cleared before every batch so each child is new to the explored set; a batch is long enough,
+// a few milliseconds, that the per invocation setup does not show in the result
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpansionBenchmark {
+	private static final int COUNT = 16384;
+
+	@Param({ "1", "2", "4" })
+	public String heuristic;
+
+	private Solver solver;
+	private Puzzle[] nodes;
+
+	@Setup
+	public void setup() {
+		Heuristic h = Heuristic.of(heuristic);
+		solver = new Solver(h);
+		nodes = Instances.nodes(Instances.random(COUNT), h);
+	}
+
+	@Setup(Level.Invocation)
+	public void clear() {
+		solver.clear();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int generateNextPuzzles() {
+		int generated = 0;
+		for (Puzzle p : nodes) {
+			generated += solver.generateNextPuzzles(p);
+		}
+		return generated;
+	}
+}
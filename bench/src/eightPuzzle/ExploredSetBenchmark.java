@@ -0,0 +1,94 @@
+package eightPuzzle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// explored set inserts of new states and lookups of present and absent states, per operation
+// the explored set maps each state to the g of the shortest known path, as in the solvers
+// inserts go into a map emptied before every invocation, so they are done in batches long enough, a few
+// milliseconds, that the per invocation setup does not show in the result
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExploredSetBenchmark {
+	private static final int COUNT = 4096;
+	// states inserted per invocation of put()
+	private static final int PUT_COUNT = 1 << 17;
+
+	private long[] states;
+	private long[] absent;
+	private long[] inserted;
+	private int[] depths;
+	private LongIntMap empty;
+	private LongIntMap filled;
+
+	@Setup
+	public void setup() {
+		Puzzle[] puzzles = Instances.random(PUT_COUNT);
+		states = new long[COUNT];
+		absent = new long[COUNT];
+		inserted = new long[PUT_COUNT];
+		depths = new int[PUT_COUNT];
+		for (int i = 0; i < PUT_COUNT; i++) {
+			inserted[i] = puzzles[i].getState();
+			depths[i] = i & 31;
+		}
+		filled = new LongIntMap(1 << 16);
+		for (int i = 0; i < COUNT; i++) {
+			states[i] = puzzles[i].getState();
+			absent[i] = puzzles[COUNT + i].getState();
+			filled.put(states[i], depths[i]);
+		}
+		empty = new LongIntMap(PUT_COUNT);
+	}
+
+	@Setup(Level.Invocation)
+	public void clear() {
+		empty.clear();
+	}
+
+	// look up each state and store its g when it is new or reached by a shorter path
+	@Benchmark
+	@OperationsPerInvocation(PUT_COUNT)
+	public int put() {
+		int added = 0;
+		for (int i = 0; i < PUT_COUNT; i++) {
+			int known = empty.get(inserted[i]);
+			if (known == LongIntMap.MISSING || known > depths[i]) {
+				empty.put(inserted[i], depths[i]);
+				added++;
+			}
+		}
+		return added;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT * 2)
+	public int get() {
+		int found = 0;
+		for (int i = 0; i < COUNT; i++) {
+			if (filled.get(states[i]) != LongIntMap.MISSING) {
+				found++;
+			}
+			if (filled.get(absent[i]) != LongIntMap.MISSING) {
+				found++;
+			}
+		}
+		return found;
+	}
+}
@@ -0,0 +1,85 @@
+package eightPuzzle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// full evaluation of the heuristics and the solvability check, per puzzle
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicBenchmark {
+	private static final int COUNT = 1024;
+	private static final Board BOARD = Instances.BOARD;
+
+	private final Heuristic misplaced = new MisplacedTiles();
+	private final Heuristic manhattan = new Manhattan();
+	private final Heuristic linearConflict = new LinearConflict();
+
+	private Puzzle[] puzzles;
+	private long[] states;
+
+	@Setup
+	public void setup() {
+		puzzles = Instances.random(COUNT);
+		states = new long[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			states[i] = puzzles[i].getState();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int misplaced() {
+		int sum = 0;
+		for (long state : states) {
+			sum += misplaced.estimate(BOARD, state);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int manhattan() {
+		int sum = 0;
+		for (long state : states) {
+			sum += manhattan.estimate(BOARD, state);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int linearConflict() {
+		int sum = 0;
+		for (long state : states) {
+			sum += linearConflict.estimate(BOARD, state);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int isSolvable() {
+		int solvable = 0;
+		for (Puzzle p : puzzles) {
+			if (p.isSolvable()) {
+				solvable++;
+			}
+		}
+		return solvable;
+	}
+}
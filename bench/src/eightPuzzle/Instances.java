@@ -0,0 +1,37 @@
+package eightPuzzle;
+
+import java.util.Random;
+
+// fixed, seeded puzzle sets shared by the benchmarks so every run measures the same work
+final class Instances {
+	static final long SEED = 20181018L;
+	static final Board BOARD = Board.of(3);
+
+	private Instances() {
+	}
+
+	// random solvable puzzles that are not already solved
+	static Puzzle[] random(int count) {
+		Random random = new Random(SEED);
+		Puzzle[] puzzles = new Puzzle[count];
+		for (int i = 0; i < count; i++) {
+			puzzles[i] = Puzzle.createSolvable(BOARD, random);
+		}
+		return puzzles;
+	}
+
+	// random solvable puzzles whose optimal solution is exactly 'depth' moves
+	static Puzzle[] atDepth(DistanceTable table, int depth, int count) {
+		return new InstanceGenerator(table).atDepth(depth, count, new Random(SEED + depth));
+	}
+
+	// the puzzles as search nodes carrying their heuristic, as the solver stores them
+	static Puzzle[] nodes(Puzzle[] puzzles, Heuristic heuristic) {
+		Puzzle[] nodes = new Puzzle[puzzles.length];
+		for (int i = 0; i < puzzles.length; i++) {
+			long state = puzzles[i].getState();
+			nodes[i] = new Puzzle(BOARD, state, 0, heuristic.estimate(BOARD, state), null);
+		}
+		return nodes;
+	}
+}
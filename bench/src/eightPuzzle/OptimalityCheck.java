@@ -0,0 +1,127 @@
+package eightPuzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Random;
+import java.util.function.Function;
+
+// regression check of every engine, and of the distance table's own solve(), against the distance table,
+// run as a plain main without JMH
+// seeded 8-puzzles spread over every depth are solved by each engine with each admissible heuristic; a
+// solution must be a path of legal moves from the start to the goal, exactly as long as the table says for
+// the optimal engines and within the weight for the bounded ones, and an unsolvable puzzle must give null
+// arguments: puzzles per depth (default 10); exits with status 1 if any solution is wrong
+public class OptimalityCheck {
+	private static final int MAX_DEPTH = 31;
+	// weight of the bounded suboptimal engines
+	private static final double WEIGHT = 1.5;
+	// node budget of the memory-bounded engine, small enough that the deeper puzzles prune nodes
+	private static final int SMA_NODES = 1 << 12;
+	private static final String[] HEURISTICS = { "manhattan", "pdb", "linear" };
+
+	// an engine under test and how much longer than optimal its solutions may be
+	private static class Engine {
+		final String name;
+		final Function<Heuristic, SearchEngine> create;
+		final double weight;
+
+		Engine(String name, Function<Heuristic, SearchEngine> create, double weight) {
+			this.name = name;
+			this.create = create;
+			this.weight = weight;
+		}
+	}
+
+	private static final Engine[] ENGINES = {
+			new Engine("astar", Solver::new, 1),
+			new Engine("astar-heap", h -> new Solver(h, new HeapOpenList()), 1),
+			new Engine("idastar", IdaStarSolver::new, 1),
+			new Engine("mm", BidirectionalSolver::new, 1),
+			new Engine("hda", h -> new HdaStarSolver(h, 2), 1),
+			new Engine("sma", h -> new SmaStarSolver(h, SMA_NODES), 1),
+			new Engine("anytime", AnytimeSolver::new, 1),
+			new Engine("cached", h -> new CachingEngine(new IdaStarSolver(h), new SolutionCache(1 << 16)), 1),
+			new Engine("weighted", h -> new WeightedSolver(h, WEIGHT), WEIGHT),
+			new Engine("focal", h -> new FocalSolver(h, WEIGHT), WEIGHT) };
+
+	public static void main(String[] args) throws IOException {
+		int perDepth = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		DistanceTable table = DistanceTable.build();
+		Puzzle[] puzzles = new InstanceGenerator(table).withDepths(
+				InstanceGenerator.spread(perDepth * MAX_DEPTH, 1, MAX_DEPTH), new Random(Instances.SEED));
+		// two tiles swapped from the goal
+		Puzzle unsolvable = Puzzle.parse("021345678");
+
+		int failures = 0;
+		// the table solves by lookups, each step must lead one move closer
+		int wrong = 0;
+		for (Puzzle puzzle : puzzles) {
+			Puzzle solution = table.solve(puzzle);
+			if (!isPath(puzzle, solution) || solution.getDepth() != table.distance(puzzle.getState())) {
+				wrong++;
+				System.out.println("  " + puzzle.getTileString() + " not solved by the table");
+			}
+		}
+		if (table.solve(unsolvable) != null) {
+			wrong++;
+			System.out.println("  unsolvable " + unsolvable.getTileString() + " was solved by the table");
+		}
+		System.out.println("table: " + (puzzles.length + 1) + " puzzles, " + wrong + " wrong");
+		failures += wrong;
+
+		for (Engine engine : ENGINES) {
+			for (String name : HEURISTICS) {
+				SearchEngine solver = engine.create.apply(Heuristic.of(name));
+				wrong = 0;
+				long start = System.nanoTime();
+				try {
+					for (Puzzle puzzle : puzzles) {
+						Puzzle solution = solver.solve(puzzle);
+						int optimal = table.distance(puzzle.getState());
+						if (!isPath(puzzle, solution) || solution.getDepth() < optimal
+								|| solution.getDepth() > (int) (engine.weight * optimal)) {
+							wrong++;
+							System.out.println("  " + puzzle.getTileString() + " optimal " + optimal + ", got "
+									+ (solution == null ? "null" : solution.getDepth() + " moves"));
+						}
+					}
+					if (solver.solve(unsolvable) != null) {
+						wrong++;
+						System.out.println("  unsolvable " + unsolvable.getTileString() + " was solved");
+					}
+				} finally {
+					if (solver instanceof Closeable) {
+						((Closeable) solver).close();
+					}
+				}
+				System.out.println(engine.name + " " + name + ": " + (puzzles.length + 1) + " puzzles, " + wrong
+						+ " wrong, " + (System.nanoTime() - start) / 1000000 + " ms");
+				failures += wrong;
+			}
+		}
+		System.out.println(failures == 0 ? "All solutions correct." : failures + " wrong solutions.");
+		if (failures > 0) {
+			System.exit(1);
+		}
+	}
+
+	// return true if 'solution' is the goal, linked back to 'start' by legal moves with depths counting up
+	private static boolean isPath(Puzzle start, Puzzle solution) {
+		if (solution == null || !solution.isGoalState()) {
+			return false;
+		}
+		Board board = start.getBoard();
+		Puzzle p = solution;
+		for (Puzzle parent = p.getParent(); parent != null; p = parent, parent = p.getParent()) {
+			boolean neighbour = false;
+			for (int cell : board.neighbours(parent.getBlank())) {
+				neighbour |= cell == p.getBlank();
+			}
+			if (!neighbour || p.getDepth() != parent.getDepth() + 1
+					|| Puzzle.slide(parent.getState(), parent.getBlank(), p.getBlank()) != p.getState()) {
+				return false;
+			}
+		}
+		return p.getState() == start.getState() && p.getDepth() == 0;
+	}
+}
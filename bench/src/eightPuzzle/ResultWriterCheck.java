@@ -0,0 +1,103 @@
+package eightPuzzle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// check that every row given to a ResultWriter is in its file as soon as write() returns, before close()
+// rows come from several threads and include a heuristic name far longer than the buffer; the file is read
+// back while the writer is still open, in both formats
+// exits with status 1 if a row is missing or garbled
+public class ResultWriterCheck {
+	private static final int THREADS = 4;
+	private static final int ROWS = 5000;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		StringBuilder longName = new StringBuilder("max(");
+		while (longName.length() < 1 << 17) {
+			longName.append("Manhattan+LinearConflict+");
+		}
+		Heuristic manhattan = new Manhattan();
+		Heuristic named = new Manhattan() {
+			@Override
+			public String toString() {
+				return longName.toString();
+			}
+		};
+
+		int failures = 0;
+		for (ResultWriter.Format format : ResultWriter.Format.values()) {
+			Path path = Files.createTempFile("results", format == ResultWriter.Format.CSV ? ".csv" : ".ndjson");
+			ResultWriter writer = new ResultWriter(path, format);
+			try {
+				Thread[] threads = new Thread[THREADS];
+				IOException[] failure = new IOException[1];
+				for (int t = 0; t < THREADS; t++) {
+					int id = t;
+					threads[t] = new Thread(() -> {
+						Random random = new Random(Instances.SEED + id);
+						try {
+							for (int i = 0; i < ROWS; i++) {
+								Puzzle puzzle = Puzzle.createSolvable(Board.of(2 + random.nextInt(3)), random);
+								// the depth field is unique across threads, so each row can be found again
+								writer.write(i % 1000 == 0 ? named : manhattan, puzzle, id * ROWS + i, i, i, i);
+							}
+						} catch (IOException e) {
+							synchronized (failure) {
+								failure[0] = e;
+							}
+						}
+					});
+					threads[t].start();
+				}
+				for (Thread thread : threads) {
+					thread.join();
+				}
+				if (failure[0] != null) {
+					throw failure[0];
+				}
+
+				// read back while the writer is still open
+				List<String> lines = Files.readAllLines(path);
+				Set<Integer> depths = new HashSet<>();
+				for (String line : lines) {
+					Integer depth = depth(line, format);
+					if (depth != null && line.contains(depth % ROWS % 1000 == 0 ? longName : "Manhattan")) {
+						depths.add(depth);
+					}
+				}
+				int missing = THREADS * ROWS - depths.size();
+				System.out.println(format + ": " + lines.size() + " lines before close, " + missing + " rows missing");
+				failures += missing;
+			} finally {
+				writer.close();
+				Files.delete(path);
+			}
+		}
+		System.out.println(failures == 0 ? "All rows written." : failures + " rows missing.");
+		if (failures > 0) {
+			System.exit(1);
+		}
+	}
+
+	// depth of a complete row, null for the header or a garbled row
+	private static Integer depth(String line, ResultWriter.Format format) {
+		try {
+			if (format == ResultWriter.Format.CSV) {
+				String[] fields = line.split(",");
+				return fields.length == 6 ? Integer.valueOf(fields[2]) : null;
+			}
+			if (!line.startsWith("{") || !line.endsWith("}")) {
+				return null;
+			}
+			int start = line.indexOf("\"depth\":") + 8;
+			return Integer.valueOf(line.substring(start, line.indexOf(',', start)));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package eightPuzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// full solves of fixed puzzle sets with the same optimal depth, per solved puzzle
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+	private static final int COUNT = 16;
+	// node budget of the memory-bounded engine, well below what A* keeps for the deeper puzzles
+	private static final int SMA_NODES = 1 << 12;
+
+	@Param({ "8", "16", "20", "24" })
+	public int depth;
+
+	@Param({ "1", "2", "3", "4" })
+	public String heuristic;
+
+	@Param({ "astar", "idastar", "mm", "hda", "weighted", "focal", "sma" })
+	public String engine;
+
+	private SearchEngine solver;
+	private Puzzle[] puzzles;
+
+	@Setup
+	public void setup() {
+		puzzles = Instances.atDepth(DistanceTable.build(), depth, COUNT);
+		Heuristic h = Heuristic.of(heuristic);
+		if (engine.equals("idastar")) {
+			solver = new IdaStarSolver(h);
+		} else if (engine.equals("mm")) {
+			solver = new BidirectionalSolver(h);
+		} else if (engine.equals("hda")) {
+			solver = new HdaStarSolver(h, Runtime.getRuntime().availableProcessors());
+		} else if (engine.equals("weighted")) {
+			solver = new WeightedSolver(h, 1.5);
+		} else if (engine.equals("focal")) {
+			solver = new FocalSolver(h, 1.5);
+		} else if (engine.equals("sma")) {
+			solver = new SmaStarSolver(h, SMA_NODES);
+		} else {
+			solver = new Solver(h);
+		}
+	}
+
+	// stop the worker threads of the parallel engine
+	@TearDown
+	public void tearDown() throws IOException {
+		if (solver instanceof Closeable) {
+			((Closeable) solver).close();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public void solvePuzzle(Blackhole blackhole) {
+		for (Puzzle p : puzzles) {
+			blackhole.consume(solver.solve(p));
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package eightPuzzle;
+
+// anytime search by restarting weighted A* with falling weights
+// each round looks only for paths cheaper than the best solution so far, and every solution comes with a
+// proven bound on how many times longer than optimal it can be: its cost over the highest lower bound seen,
+// the lowest f left open when a round reached its goal
+// a round that finds nothing cheaper proves the best solution optimal, as does a round with weight 1
+// a deadline stops the search early with the best solution found by then
+public class AnytimeSolver implements SearchEngine {
+	// told of each better solution as it is found
+	public interface Listener {
+		void improved(Puzzle solution, double bound);
+	}
+
+	private static final double[] DEFAULT_WEIGHTS = { 3, 2, 1.5, 1.25, 1 };
+
+	private final WeightedSolver[] rounds;
+	private Listener listener;
+
+	// bound of the last solution returned, 1 when it is proven optimal
+	private double bound;
+
+	private long nodesGenerated;
+	private long nodesExpanded;
+
+	public AnytimeSolver(Heuristic heuristic) {
+		this(heuristic, DEFAULT_WEIGHTS);
+	}
+
+	// rounds use the weights in the given order, which should fall to 1 for the search to end optimal
+	public AnytimeSolver(Heuristic heuristic, double[] weights) {
+		rounds = new WeightedSolver[weights.length];
+		for (int i = 0; i < weights.length; i++) {
+			rounds[i] = new WeightedSolver(heuristic, weights[i]);
+		}
+	}
+
+	public void setListener(Listener listener) {
+		this.listener = listener;
+	}
+
+	// return an optimal solution, passing each better one found on the way to the listener
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		return search(puzzle, 0);
+	}
+
+	// return the best solution found within 'nanos' nanoseconds, or null if none was found in time
+	public Puzzle solve(Puzzle puzzle, long nanos) {
+		return search(puzzle, System.nanoTime() + Math.max(1, nanos));
+	}
+
+	// suboptimality bound of the last solution returned
+	public double getBound() {
+		return bound;
+	}
+
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	// deadline is a System.nanoTime() value, or 0 for none
+	private Puzzle search(Puzzle puzzle, long deadline) {
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+		Puzzle best = null;
+		int cost = Integer.MAX_VALUE;
+		int lowerBound = 0;
+		bound = Double.POSITIVE_INFINITY;
+		for (WeightedSolver round : rounds) {
+			round.resetCounters();
+			int goal = round.search(puzzle, cost, deadline);
+			nodesGenerated += round.getNodesGenerated();
+			nodesExpanded += round.getNodesExpanded();
+			if (round.isTimedOut()) {
+				round.clear();
+				break;
+			}
+			if (goal == NodePool.NONE) {
+				// no path is cheaper than the best one
+				round.clear();
+				if (best != null) {
+					bound = 1;
+				}
+				break;
+			}
+			best = round.toPuzzle(goal);
+			cost = best.getDepth();
+			lowerBound = Math.max(lowerBound, round.getLowerBound());
+			round.clear();
+			bound = lowerBound == 0 ? (cost == 0 ? 1 : Double.POSITIVE_INFINITY) : (double) cost / lowerBound;
+			if (listener != null) {
+				listener.improved(best, bound);
+			}
+			if (bound <= 1) {
+				break;
+			}
+		}
+		return best;
+	}
+}
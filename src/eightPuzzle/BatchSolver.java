@@ -0,0 +1,169 @@
+package eightPuzzle;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// solve a stream of puzzles, one per line, writing one line per puzzle in the order of the input
+// reading, solving and writing overlap: a reader thread parses lines and hands them to a fixed pool of
+// solver threads, while the calling thread writes each result once it and every earlier one are done
+// results wait in a bounded queue of futures, so a slow writer or a hard puzzle holds the reader back and
+// memory stays bounded however long the input is
+// results go to a Sink: as text, each line is the input line, a tab, then the solution length, a tab and the
+// moves of the blank (U, D, L, R), or 'unsolvable', or 'unsolved' when the engine gave up, or 'error: ' and
+// why the line is not a puzzle; in binary, one MoveSequence record per line; blank lines are skipped
+public class BatchSolver {
+	// receives the result of each input line, in input order
+	public interface Sink {
+		// 'solution' is null when the puzzle was not solved, 'failure' then says why
+		void accept(String line, MoveSequence solution, String failure) throws IOException;
+	}
+
+	// puzzles in flight per solver thread
+	private static final int WINDOW = 64;
+	// marks the end of the input in the queue of results
+	private static final Future<Result> END = CompletableFuture.completedFuture(null);
+
+	private final Supplier<SearchEngine> engines;
+	private final int threads;
+	private final LongAdder solved = new LongAdder();
+	private final LongAdder unsolvable = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	// failure of the reader thread, reported by run()
+	private volatile IOException readFailure;
+
+	// each solver thread solves with its own engine from 'engines'
+	public BatchSolver(Supplier<SearchEngine> engines, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Batch needs at least one solver thread");
+		}
+		this.engines = engines;
+		this.threads = threads;
+	}
+
+	// solve every puzzle of 'in' and hand the results to 'out'
+	public void run(BufferedReader in, Sink out) throws IOException, InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		ThreadLocal<SearchEngine> solvers = ThreadLocal.withInitial(engines);
+		BlockingQueue<Future<Result>> results = new ArrayBlockingQueue<>(threads * WINDOW);
+		readFailure = null;
+		Thread reader = new Thread(() -> read(in, pool, solvers, results), "batch-reader");
+		reader.setDaemon(true);
+		reader.start();
+		try {
+			Future<Result> next;
+			while ((next = results.take()) != END) {
+				Result result = next.get();
+				out.accept(result.line, result.solution, result.failure);
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Batch solver failed", e.getCause());
+		} finally {
+			reader.interrupt();
+			pool.shutdownNow();
+		}
+		if (readFailure != null) {
+			throw readFailure;
+		}
+	}
+
+	// sink writing a line of text per result, 'out' is flushed when closed
+	public static Sink text(Writer out) {
+		return (line, solution, failure) -> {
+			out.write(line);
+			out.write('\t');
+			if (solution == null) {
+				out.write(failure);
+			} else {
+				out.write(Integer.toString(solution.length()));
+				out.write('\t');
+				out.write(solution.toString());
+			}
+			out.write('\n');
+		};
+	}
+
+	// sink writing a MoveSequence record per result after the file header, 'out' is flushed when closed
+	public static Sink binary(DataOutputStream out) throws IOException {
+		MoveSequence.writeHeader(out);
+		return (line, solution, failure) -> MoveSequence.write(out, solution);
+	}
+
+	public long getSolved() {
+		return solved.sum();
+	}
+
+	public long getUnsolvable() {
+		return unsolvable.sum();
+	}
+
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	// queue a solve of every line, blocking while the queue of results is full, then queue END
+	private void read(BufferedReader in, ExecutorService pool, ThreadLocal<SearchEngine> solvers,
+			BlockingQueue<Future<Result>> results) {
+		try {
+			try {
+				String line;
+				while ((line = in.readLine()) != null) {
+					if (line.isBlank()) {
+						continue;
+					}
+					String puzzle = line;
+					results.put(CompletableFuture.supplyAsync(() -> solve(puzzle, solvers.get()), pool));
+				}
+			} catch (IOException e) {
+				readFailure = e;
+			}
+			results.put(END);
+		} catch (InterruptedException | RejectedExecutionException e) {
+			// the writer has stopped
+		}
+	}
+
+	// the path is packed into moves on the solver thread, so the nodes of the solution can be collected early
+	private Result solve(String line, SearchEngine engine) {
+		Puzzle puzzle;
+		try {
+			puzzle = Puzzle.parse(line);
+		} catch (IllegalArgumentException e) {
+			errors.increment();
+			return new Result(line, null, "error: " + e.getMessage());
+		}
+		if (!puzzle.isSolvable()) {
+			unsolvable.increment();
+			return new Result(line, null, "unsolvable");
+		}
+		Puzzle solution = engine.solve(puzzle);
+		if (solution == null) {
+			return new Result(line, null, "unsolved");
+		}
+		solved.increment();
+		return new Result(line, MoveSequence.of(solution), null);
+	}
+
+	private static class Result {
+		final String line;
+		final MoveSequence solution;
+		final String failure;
+
+		Result(String line, MoveSequence solution, String failure) {
+			this.line = line;
+			this.solution = solution;
+			this.failure = failure;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package eightPuzzle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// solve a batch of seeded random puzzles with each heuristic across several threads
+// every puzzle is generated from the seed and its index, so results do not depend on the thread count
+// puzzles are uniformly random, or drawn at chosen depths from an InstanceGenerator
+public class Benchmark {
+	private final Board board;
+	private final int instances;
+	// generator and optimal depth of each puzzle, null for uniformly random puzzles
+	private final InstanceGenerator generator;
+	private final int[] depths;
+	private final long seed;
+	private final Heuristic[] heuristics;
+	private final int threads;
+	// optional sink receiving a row for every solved puzzle
+	private ResultWriter results;
+
+	public Benchmark(Board board, int instances, long seed, Heuristic[] heuristics, int threads) {
+		if (instances < 0 || threads < 1 || heuristics.length == 0) {
+			throw new IllegalArgumentException("Benchmark needs at least one heuristic and one thread");
+		}
+		this.board = board;
+		this.instances = instances;
+		this.seed = seed;
+		this.heuristics = heuristics.clone();
+		this.threads = threads;
+		generator = null;
+		depths = null;
+	}
+
+	// benchmark of counts[d] puzzles at each optimal depth d
+	public Benchmark(InstanceGenerator generator, int[] counts, long seed, Heuristic[] heuristics, int threads) {
+		if (threads < 1 || heuristics.length == 0) {
+			throw new IllegalArgumentException("Benchmark needs at least one heuristic and one thread");
+		}
+		int total = 0;
+		for (int count : counts) {
+			total += count;
+		}
+		depths = new int[total];
+		for (int depth = 0, i = 0; depth < counts.length; depth++) {
+			for (int k = 0; k < counts[depth]; k++) {
+				depths[i++] = depth;
+			}
+		}
+		this.generator = generator;
+		board = generator.getBoard();
+		instances = total;
+		this.seed = seed;
+		this.heuristics = heuristics.clone();
+		this.threads = threads;
+	}
+
+	// return the merged statistics of each heuristic, in the order the heuristics were given
+	public DepthStats[] run() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<DepthStats[]>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				final int first = t;
+				results.add(pool.submit(() -> runWorker(first)));
+			}
+			DepthStats[] merged = newStats();
+			for (Future<DepthStats[]> result : results) {
+				DepthStats[] stats = result.get();
+				for (int h = 0; h < merged.length; h++) {
+					merged[h].merge(stats[h]);
+				}
+			}
+			return merged;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Benchmark worker failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	public void setResultWriter(ResultWriter results) {
+		this.results = results;
+	}
+
+	public Board getBoard() {
+		return board;
+	}
+
+	public Heuristic[] getHeuristics() {
+		return heuristics.clone();
+	}
+
+	// solve every threads-th puzzle starting at 'first' into statistics owned by this worker
+	private DepthStats[] runWorker(int first) throws IOException {
+		DepthStats[] stats = newStats();
+		SearchEngine[] solvers = new SearchEngine[heuristics.length];
+		for (int h = 0; h < heuristics.length; h++) {
+			solvers[h] = SearchMetrics.instrument(new Solver(heuristics[h]));
+		}
+		Random random = new Random();
+		for (int i = first; i < instances; i += threads) {
+			random.setSeed(seed + i * 0x9E3779B97F4A7C15L);
+			Puzzle puzzle = generator == null ? Puzzle.createSolvable(board, random)
+					: generator.atDepth(depths[i], random);
+			for (int h = 0; h < solvers.length; h++) {
+				long startTime = System.nanoTime();
+				Puzzle solved = solvers[h].solve(puzzle);
+				long totalTime = System.nanoTime() - startTime;
+				stats[h].record(solved.getDepth(), solvers[h].getNodesGenerated(), solvers[h].getNodesExpanded(),
+						totalTime);
+				if (results != null) {
+					results.write(heuristics[h], puzzle, solved.getDepth(), solvers[h].getNodesGenerated(),
+							solvers[h].getNodesExpanded(), totalTime);
+				}
+			}
+		}
+		return stats;
+	}
+
+	private DepthStats[] newStats() {
+		DepthStats[] stats = new DepthStats[heuristics.length];
+		for (int h = 0; h < stats.length; h++) {
+			stats[h] = new DepthStats();
+		}
+		return stats;
+	}
+}
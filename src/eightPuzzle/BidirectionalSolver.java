@@ -0,0 +1,184 @@
+package eightPuzzle;
+
+import java.util.BitSet;
+
+// bidirectional A* meeting in the middle (MM): one search runs forward from the start guided by the
+// heuristic, the other backward from the goal guided by the Manhattan distance to the start
+// each direction expands its nodes by priority max(f, 2g), so neither search goes past the middle of
+// an optimal path, and the direction with the lower priority is expanded next
+// every child is looked up in the other direction, a hit is a path whose cost bounds the solution U;
+// the search stops once no open node can lead to a cheaper path, that is when U is at most the largest of
+// the lowest priority, the lowest f of either direction and the sum of their lowest g plus one move
+public class BidirectionalSolver implements SearchEngine {
+	private final Heuristic heuristic;
+	private final Frontier forward = new Frontier();
+	private final Frontier backward = new Frontier();
+	private Board board;
+
+	// cost of the best path found and the nodes it meets at, one in each direction
+	private int best;
+	private int meetForward;
+	private int meetBackward;
+
+	private long nodesGenerated;
+	private long nodesExpanded;
+
+	public BidirectionalSolver(Heuristic heuristic) {
+		this.heuristic = heuristic;
+	}
+
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+		board = puzzle.getBoard();
+		long start = puzzle.getState();
+		if (start == board.getGoal()) {
+			return new Puzzle(board, start, puzzle.getBlank(), 0, 0, null);
+		}
+		if (!board.isSolvable(start)) {
+			return null;
+		}
+		forward.reset(board, heuristic, start, puzzle.getBlank());
+		backward.reset(board, new TargetManhattan(board, start), board.getGoal(), 0);
+		best = Integer.MAX_VALUE;
+
+		Puzzle solution = null;
+		while (!forward.isEmpty() || !backward.isEmpty()) {
+			int lowest = Math.min(forward.priorities.min(), backward.priorities.min());
+			int bound = Math.max(lowest, Math.max(forward.f.min(), backward.f.min()));
+			if (!forward.isEmpty() && !backward.isEmpty()) {
+				bound = Math.max(bound, forward.g.min() + backward.g.min() + 1);
+			}
+			// an exhausted direction leaves no path to find, the bound is then infinite
+			if (best <= bound) {
+				solution = best == Integer.MAX_VALUE ? null : rebuild();
+				break;
+			}
+			if (forward.priorities.min() <= backward.priorities.min()) {
+				expand(forward, backward);
+			} else {
+				expand(backward, forward);
+			}
+		}
+		forward.clear();
+		backward.clear();
+		return solution;
+	}
+
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	// expand the open node of lowest priority in one direction, checking each child against the other
+	private void expand(Frontier frontier, Frontier other) {
+		int node = frontier.poll();
+		nodesExpanded++;
+		NodePool nodes = frontier.nodes;
+		long state = nodes.state(node);
+		int to = nodes.blank(node);
+		int g = nodes.g(node) + 1;
+		for (int from : board.neighbours(to)) {
+			nodesGenerated++;
+			long child = Puzzle.slide(state, to, from);
+			int known = frontier.explored.get(child);
+			if (known != LongIntMap.MISSING && nodes.g(known) <= g) {
+				continue;
+			}
+			int h = frontier.heuristic.update(board, nodes.h(node), state, from, to);
+			int c = frontier.add(child, from, g, h, node, known);
+			int meet = other.explored.get(child);
+			if (meet != LongIntMap.MISSING && g + other.nodes.g(meet) < best) {
+				best = g + other.nodes.g(meet);
+				meetForward = frontier == forward ? c : meet;
+				meetBackward = frontier == forward ? meet : c;
+			}
+		}
+	}
+
+	// join the forward path from the start with the backward path to the goal at the meeting state
+	private Puzzle rebuild() {
+		Puzzle p = forward.nodes.toPuzzle(board, meetForward);
+		NodePool nodes = backward.nodes;
+		for (int n = nodes.parent(meetBackward); n != NodePool.NONE; n = nodes.parent(n)) {
+			long state = nodes.state(n);
+			p = new Puzzle(board, state, nodes.blank(n), p.getDepth() + 1, heuristic.estimate(board, state), p);
+		}
+		return p;
+	}
+
+	// nodes, explored states and open list of one direction
+	// counts of the open nodes by priority, f and g give the lowest of each for the stopping rule
+	private static class Frontier {
+		final NodePool nodes = new NodePool(1 << 14);
+		final LongIntMap explored = new LongIntMap(1 << 14);
+		final BucketOpenList open = new BucketOpenList();
+		// nodes still waiting in the open list, superseded and expanded nodes are cleared
+		final BitSet waiting = new BitSet();
+		final ValueCounts priorities = new ValueCounts();
+		final ValueCounts f = new ValueCounts();
+		final ValueCounts g = new ValueCounts();
+		Heuristic heuristic;
+
+		void reset(Board board, Heuristic heuristic, long root, int blank) {
+			clear();
+			this.heuristic = heuristic;
+			add(root, blank, 0, heuristic.estimate(board, root), NodePool.NONE, LongIntMap.MISSING);
+		}
+
+		void clear() {
+			nodes.reset();
+			explored.clear();
+			open.clear();
+			waiting.clear();
+			priorities.clear();
+			f.clear();
+			g.clear();
+		}
+
+		boolean isEmpty() {
+			return priorities.size() == 0;
+		}
+
+		// store a node replacing the open node 'known' of the same state, if any
+		int add(long state, int blank, int g, int h, int parent, int known) {
+			if (known != LongIntMap.MISSING && waiting.get(known)) {
+				leave(known);
+			}
+			int node = nodes.add(state, blank, g, h, parent);
+			explored.put(state, node);
+			waiting.set(node);
+			int priority = Math.max(g + h, 2 * g);
+			priorities.add(priority);
+			f.add(g + h);
+			this.g.add(g);
+			open.add(node, priority, g);
+			return node;
+		}
+
+		// remove and return the open node of lowest priority, skipping superseded entries
+		int poll() {
+			int node;
+			do {
+				node = open.poll();
+			} while (!waiting.get(node));
+			leave(node);
+			return node;
+		}
+
+		private void leave(int node) {
+			waiting.clear(node);
+			int g = nodes.g(node);
+			int f = nodes.f(node);
+			priorities.remove(Math.max(f, 2 * g));
+			this.f.remove(f);
+			this.g.remove(g);
+		}
+	}
+}
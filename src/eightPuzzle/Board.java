@@ -0,0 +1,170 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// geometry of a square board of width 2 to 4, shared by every puzzle of that size
+// a state packs 4 bits per cell into a long, so 16 cells is the largest board that fits
+// the goal has tile i in cell i, with the blank (tile 0) in the top left cell
+// transposing the board maps the goal to itself, see transpose()
+public final class Board {
+	public static final int MIN_WIDTH = 2;
+	public static final int MAX_WIDTH = 4;
+
+	private static final Board[] BOARDS = new Board[MAX_WIDTH + 1];
+	static {
+		for (int width = MIN_WIDTH; width <= MAX_WIDTH; width++) {
+			BOARDS[width] = new Board(width);
+		}
+	}
+
+	private final int width;
+	private final int size;
+	private final long goal;
+	// cells a tile can slide from into the blank, indexed by the blank cell
+	private final int[][] neighbours;
+	// moves between the goal cell of a tile and a cell, indexed by tile * size + cell
+	private final int[] distances;
+	// cell (column, row) of each cell (row, column), the mirror in the main diagonal
+	private final int[] transposed;
+
+	private Board(int width) {
+		this.width = width;
+		size = width * width;
+		int[] tiles = new int[size];
+		for (int i = 0; i < size; i++) {
+			tiles[i] = i;
+		}
+		goal = Puzzle.pack(tiles);
+
+		neighbours = new int[size][];
+		for (int cell = 0; cell < size; cell++) {
+			int row = cell / width, column = cell % width;
+			int[] cells = new int[4];
+			int count = 0;
+			if (row > 0)
+				cells[count++] = cell - width;
+			if (column > 0)
+				cells[count++] = cell - 1;
+			if (column < width - 1)
+				cells[count++] = cell + 1;
+			if (row < width - 1)
+				cells[count++] = cell + width;
+			neighbours[cell] = Arrays.copyOf(cells, count);
+		}
+
+		distances = new int[size * size];
+		for (int tile = 0; tile < size; tile++) {
+			for (int cell = 0; cell < size; cell++) {
+				// calculate column and row moves
+				distances[tile * size + cell] = Math.abs(tile % width - cell % width)
+						+ Math.abs(tile / width - cell / width);
+			}
+		}
+
+		transposed = new int[size];
+		for (int cell = 0; cell < size; cell++) {
+			transposed[cell] = cell % width * width + cell / width;
+		}
+	}
+
+	// return the board of the given width
+	public static Board of(int width) {
+		if (width < MIN_WIDTH || width > MAX_WIDTH) {
+			throw new IllegalArgumentException("Board width must be between " + MIN_WIDTH + " and " + MAX_WIDTH);
+		}
+		return BOARDS[width];
+	}
+
+	// return the board with the given number of cells
+	public static Board ofSize(int size) {
+		int width = (int) Math.round(Math.sqrt(size));
+		if (width * width != size) {
+			throw new IllegalArgumentException(size + " cells do not make a square board");
+		}
+		return of(width);
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	// number of cells on the board
+	public int getSize() {
+		return size;
+	}
+
+	// packed state of the solved puzzle
+	public long getGoal() {
+		return goal;
+	}
+
+	// return the cells next to a blank cell
+	public int[] neighbours(int blank) {
+		return neighbours[blank];
+	}
+
+	// return the number of moves between a cell and the goal cell of a tile
+	public int distance(int tile, int cell) {
+		return distances[tile * size + cell];
+	}
+
+	// return the cell holding the blank tile of a packed state
+	public int blankCell(long state) {
+		for (int i = 0; i < size; i++) {
+			if (Puzzle.tileAt(state, i) == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	// return the cell a cell is mirrored to by transposing the board
+	public int transposeCell(int cell) {
+		return transposed[cell];
+	}
+
+	// return a state mirrored in the main diagonal, with each tile renamed to the tile of its mirrored goal cell
+	// this maps the goal to itself and every move to a move, so a state and its transpose are the same number
+	// of moves from the goal, by paths that are mirrors of each other: moves up and left swap, as do down and right
+	public long transpose(long state) {
+		long mirror = 0;
+		for (int cell = 0; cell < size; cell++) {
+			mirror |= (long) transposed[Puzzle.tileAt(state, cell)] << (transposed[cell] << 2);
+		}
+		return mirror;
+	}
+
+	// return the state standing for both a state and its transpose, the smaller of the two
+	// tables keyed by canonical states keep one entry for each pair: the 181440 solvable 8-puzzles have 90792
+	// canonical states, as only 144 are their own transpose
+	public long canonical(long state) {
+		return Math.min(state, transpose(state));
+	}
+
+	// return true if the goal can be reached from a packed state
+	// every move swaps the blank with a neighbour, flipping the parity of the permutation of cells to tiles
+	// and moving the blank one step, so from the goal the parity always matches the distance of the blank
+	// from its goal cell; the parity is found in O(n) from the number of cycles of the permutation
+	public boolean isSolvable(long state) {
+		int visited = 0;
+		int cycles = 0;
+		int blank = 0;
+		for (int i = 0; i < size; i++) {
+			if ((visited & (1 << i)) == 0) {
+				cycles++;
+				for (int cell = i; (visited & (1 << cell)) == 0; cell = Puzzle.tileAt(state, cell)) {
+					visited |= 1 << cell;
+				}
+			}
+			if (Puzzle.tileAt(state, i) == 0) {
+				blank = i;
+			}
+		}
+		return ((size - cycles) & 1) == (distance(0, blank) & 1);
+	}
+
+	@Override
+	public String toString() {
+		return width + "x" + width;
+	}
+}
@@ -0,0 +1,46 @@
+package eightPuzzle;
+
+// open list of LIFO buckets indexed by f, each bucket split into stacks by g
+// poll returns the lowest f and breaks ties on the highest g, add and poll are O(1) for bounded f
+public class BucketOpenList implements OpenList {
+	private final TriangularStacks stacks = new TriangularStacks();
+	private int minF;
+	private int size;
+
+	public void add(int node, int f, int g) {
+		stacks.push(node, f, g);
+		if (size++ == 0 || f < minF) {
+			minF = f;
+		}
+	}
+
+	public int poll() {
+		if (size == 0) {
+			return -1;
+		}
+		while (stacks.count(minF) == 0) {
+			minF++;
+		}
+		// deepest node first within the lowest f bucket
+		for (int g = minF; ; g--) {
+			if (!stacks.isEmpty(minF, g)) {
+				size--;
+				return stacks.pop(minF, g);
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		stacks.clear();
+		size = 0;
+		minF = 0;
+	}
+}
@@ -0,0 +1,58 @@
+package eightPuzzle;
+
+// engine answering from a solution cache first and searching with another engine on a miss, whose
+// solution is then cached
+// only an optimal engine should be wrapped, the cache takes every path it is given as optimal
+public class CachingEngine implements SearchEngine {
+	private final SearchEngine engine;
+	private final SolutionCache cache;
+	// whether the last solve was answered from the cache
+	private boolean hit;
+
+	public CachingEngine(SearchEngine engine, SolutionCache cache) {
+		this.engine = engine;
+		this.cache = cache;
+	}
+
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		Puzzle solution = cache.get(puzzle);
+		hit = solution != null;
+		if (!hit) {
+			solution = engine.solve(puzzle);
+			if (solution != null) {
+				cache.put(solution);
+			}
+		}
+		return solution;
+	}
+
+	public boolean isHit() {
+		return hit;
+	}
+
+	public SolutionCache getCache() {
+		return cache;
+	}
+
+	// counters of the wrapped engine, 0 after a hit
+	@Override
+	public long getNodesGenerated() {
+		return hit ? 0 : engine.getNodesGenerated();
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return hit ? 0 : engine.getNodesExpanded();
+	}
+
+	@Override
+	public long getDuplicates() {
+		return hit ? 0 : engine.getDuplicates();
+	}
+
+	@Override
+	public int getPeakOpen() {
+		return hit ? 0 : engine.getPeakOpen();
+	}
+}
@@ -0,0 +1,64 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// totals of solved puzzles grouped by solution depth
+// not thread safe, each thread records into its own instance and the instances are merged at the end
+public class DepthStats {
+	private long[] cases = new long[0];
+	private long[] nodesGenerated = new long[0];
+	private long[] nodesExpanded = new long[0];
+	private long[] runtime = new long[0];
+
+	public void record(int depth, long generated, long expanded, long nanos) {
+		if (depth >= cases.length) {
+			grow(depth + 1);
+		}
+		cases[depth]++;
+		nodesGenerated[depth] += generated;
+		nodesExpanded[depth] += expanded;
+		runtime[depth] += nanos;
+	}
+
+	// add the totals of another instance into this one
+	public void merge(DepthStats other) {
+		if (other.cases.length > cases.length) {
+			grow(other.cases.length);
+		}
+		for (int depth = 0; depth < other.cases.length; depth++) {
+			cases[depth] += other.cases[depth];
+			nodesGenerated[depth] += other.nodesGenerated[depth];
+			nodesExpanded[depth] += other.nodesExpanded[depth];
+			runtime[depth] += other.runtime[depth];
+		}
+	}
+
+	// one more than the deepest depth recorded
+	public int size() {
+		return cases.length;
+	}
+
+	public long getCases(int depth) {
+		return depth < cases.length ? cases[depth] : 0;
+	}
+
+	public long getAverageNodesGenerated(int depth) {
+		return depth < cases.length && cases[depth] != 0 ? nodesGenerated[depth] / cases[depth] : 0;
+	}
+
+	public long getAverageNodesExpanded(int depth) {
+		return depth < cases.length && cases[depth] != 0 ? nodesExpanded[depth] / cases[depth] : 0;
+	}
+
+	// average runtime in nanoseconds
+	public float getAverageRuntime(int depth) {
+		return depth < cases.length && cases[depth] != 0 ? (float) runtime[depth] / cases[depth] : 0;
+	}
+
+	private void grow(int length) {
+		cases = Arrays.copyOf(cases, length);
+		nodesGenerated = Arrays.copyOf(nodesGenerated, length);
+		nodesExpanded = Arrays.copyOf(nodesExpanded, length);
+		runtime = Arrays.copyOf(runtime, length);
+	}
+}
@@ -0,0 +1,208 @@
+package eightPuzzle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// exact number of moves to the goal for every solvable 8-puzzle, one byte per state
+// a solvable state is indexed by its blank cell and the rank of its other 8 tiles, see rank()
+// a state and its transpose are the same distance from the goal (see Board.transpose()), so a state with
+// its blank below the diagonal is looked up as its transpose, whose blank is above it; only the rows of the
+// 6 blank cells on or above the diagonal are stored, two thirds of the bytes of every state
+class DistanceTable {
+	// 9 blank cells times half of the 8! orderings of the other tiles
+	public static final int STATES = 9 * 20160;
+	// bytes of the table, 6 stored blank cells times 20160 orderings
+	public static final int ENTRIES = 6 * 20160;
+
+	// the only board size the table covers
+	public static final Board BOARD = Board.of(3);
+
+	// factorials used to compute the Lehmer rank of the 8 non-blank tiles
+	private static final int[] FACTORIAL = { 1, 1, 2, 6, 24, 120, 720, 5040 };
+
+	// row of the table of each blank cell, -1 below the diagonal where the transpose is looked up
+	private static final int[] ROWS = { 0, 1, 2, -1, 3, 4, -1, -1, 5 };
+
+	private final ByteBuffer distances;
+
+	private DistanceTable(ByteBuffer distances) {
+		this.distances = distances;
+	}
+
+	// fill the table with a breadth first search backwards from the goal
+	// the children of a state and of its transpose are transposes of each other, so the search only visits
+	// one state of each pair; a child with its blank on the diagonal and its transpose have entries of their
+	// own, so both are stored when either is reached
+	public static DistanceTable build() {
+		byte[] distances = new byte[ENTRIES];
+		Arrays.fill(distances, (byte) -1);
+		long[] queue = new long[ENTRIES];
+		int head = 0, tail = 0;
+
+		queue[tail++] = BOARD.getGoal();
+		distances[entry(BOARD.getGoal())] = 0;
+		while (head < tail) {
+			long state = queue[head++];
+			int blank = BOARD.blankCell(state);
+			byte next = (byte) (distances[entry(state)] + 1);
+			for (int cell : BOARD.neighbours(blank)) {
+				long child = Puzzle.slide(state, blank, cell);
+				int index = entry(child);
+				if (distances[index] == -1) {
+					distances[index] = next;
+					queue[tail++] = child;
+				}
+				long mirror = BOARD.transpose(child);
+				index = entry(mirror);
+				if (distances[index] == -1) {
+					distances[index] = next;
+					queue[tail++] = mirror;
+				}
+			}
+		}
+		return new DistanceTable(ByteBuffer.wrap(distances));
+	}
+
+	// memory map a table previously written by write()
+	public static DistanceTable load(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() != ENTRIES) {
+				throw new IOException("Distance table " + path + " has " + channel.size() + " bytes, expected " + ENTRIES
+						+ ", build it again");
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, ENTRIES);
+			buffer.load();
+			return new DistanceTable(buffer);
+		}
+	}
+
+	public void write(Path path) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = distances.duplicate();
+			buffer.clear();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	// return the optimal number of moves to solve a solvable state
+	public int distance(long state) {
+		return distances.get(entry(state));
+	}
+
+	// solve by always sliding into a neighbour one move closer to the goal
+	// returns the goal puzzle, linked back to the start through its parents, or null if it cannot be solved
+	public Puzzle solve(Puzzle puzzle) {
+		if (puzzle.getBoard() != BOARD) {
+			throw new IllegalArgumentException("Distance table only covers " + BOARD + " puzzles");
+		}
+		long state = puzzle.getState();
+		// an unsolvable state shares its index with a solvable one, whose distance no neighbour would step down
+		if (!BOARD.isSolvable(state)) {
+			return null;
+		}
+		int remaining = distance(state);
+		Puzzle p = new Puzzle(BOARD, state, 0, remaining, null);
+		while (remaining > 0) {
+			int blank = p.getBlank();
+			for (int cell : BOARD.neighbours(blank)) {
+				long child = Puzzle.slide(state, blank, cell);
+				if (distance(child) == remaining - 1) {
+					state = child;
+					remaining--;
+					p = new Puzzle(BOARD, state, cell, p.getDepth() + 1, remaining, p);
+					break;
+				}
+			}
+		}
+		return p;
+	}
+
+	// return the optimal number of moves of the state with the given index, see rank()
+	public int distanceAt(int index) {
+		return distance(unrank(index));
+	}
+
+	// byte of the table holding the distance of a solvable state
+	static int entry(long state) {
+		int index = rank(state);
+		int row = ROWS[index / 20160];
+		if (row < 0) {
+			index = rank(BOARD.transpose(state));
+			row = ROWS[index / 20160];
+		}
+		return row * 20160 + index % 20160;
+	}
+
+	// index of a solvable state: blank cell * 20160 + Lehmer rank of the other tiles / 2
+	// orderings 2k and 2k+1 differ by swapping the last two tiles so exactly one of them is solvable
+	static int rank(long state) {
+		int blank = 0;
+		int seen = 0;
+		int rank = 0;
+		int position = 0;
+		for (int cell = 0; cell < 9; cell++) {
+			int tile = Puzzle.tileAt(state, cell);
+			if (tile == 0) {
+				blank = cell;
+				continue;
+			}
+			// number of smaller tiles not yet placed, tiles are 1 to 8
+			int smallerUnseen = tile - 1 - Integer.bitCount(seen & ((1 << tile) - 1));
+			rank += smallerUnseen * FACTORIAL[7 - position];
+			seen |= 1 << tile;
+			position++;
+		}
+		return blank * 20160 + (rank >> 1);
+	}
+
+	// packed solvable state of an index, the inverse of rank()
+	static long unrank(int index) {
+		int blank = index / 20160;
+		int rank = (index % 20160) << 1;
+		int[] tiles = new int[8];
+		// tiles 1 to 8 not yet placed
+		int unused = 0x1FE;
+		for (int position = 0; position < 8; position++) {
+			int smallerUnseen = rank / FACTORIAL[7 - position];
+			rank %= FACTORIAL[7 - position];
+			int tile = Integer.numberOfTrailingZeros(unused);
+			for (int i = 0; i < smallerUnseen; i++) {
+				tile = Integer.numberOfTrailingZeros(unused & (-2 << tile));
+			}
+			tiles[position] = tile;
+			unused &= ~(1 << tile);
+		}
+		long state = pack(blank, tiles);
+		if (!BOARD.isSolvable(state)) {
+			// the odd ordering of the pair is the solvable one
+			int last = tiles[7];
+			tiles[7] = tiles[6];
+			tiles[6] = last;
+			state = pack(blank, tiles);
+		}
+		return state;
+	}
+
+	// pack the non-blank tiles in cell order around the blank cell
+	private static long pack(int blank, int[] tiles) {
+		long state = 0;
+		for (int cell = 0, position = 0; cell < 9; cell++) {
+			if (cell != blank) {
+				state |= (long) tiles[position++] << (cell << 2);
+			}
+		}
+		return state;
+	}
+}
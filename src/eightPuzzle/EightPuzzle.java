@@ -1,15 +1,20 @@
 package eightPuzzle;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.Random;
 import java.util.Scanner;
 import java.util.regex.Pattern;
@@ -18,58 +23,95 @@ public class EightPuzzle {
 	private static Random r = new Random();
 	private static Scanner kb = new Scanner(System.in);
 	
-	// priority queues to store puzzles using h1 and h2 to compare
-	private static Queue<Puzzle> queueH1;
-	private static Queue<Puzzle> queueH2;
+	// solvers for each heuristic
+	private static SearchEngine solverH1;
+	private static SearchEngine solverH2;
+	// allocation free solver for long running use
+	private static SearchEngine idaStar;
 
-	// store explored puzzles
-	private static Map<String, Integer> explored = new HashMap<String, Integer>();
+	// exact distances of every solvable puzzle, null until built or loaded from file
+	private static final Path TABLE_PATH = Paths.get("output", "distances.bin");
+	private static DistanceTable table;
 	
 	public static void main(String[] args) {
+		// -DeightPuzzle.metrics=true publishes solve metrics over JMX
+		if (SearchMetrics.ENABLED) {
+			SearchMetrics.register();
+		}
+		if (args.length > 0 && args[0].equals("bench")) {
+			runBenchmark(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("batch")) {
+			runBatch(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("pdb")) {
+			buildPatternDatabase(Board.of(args.length > 1 ? Integer.parseInt(args[1]) : 4));
+			return;
+		}
+		
 		System.out.println("This program will solve a 8-Puzzle by using an A* heuristic.\n");
 		
-		// create queues with associated comparators
-		queueH1 = new PriorityQueue<>(priorityComparatorH1);
-		queueH2 = new PriorityQueue<>(priorityComparatorH2);
+		// bucket queue by default, a Solver can be given a HeapOpenList for comparison
+		solverH1 = SearchMetrics.instrument(new Solver(new MisplacedTiles()));
+		solverH2 = SearchMetrics.instrument(new Solver(new Manhattan()));
+		idaStar = SearchMetrics.instrument(new IdaStarSolver(PatternDatabase.DEFAULT));
+		
+		// map a previously built distance table into memory
+		if (Files.exists(TABLE_PATH)) {
+			try {
+				table = DistanceTable.load(TABLE_PATH);
+			} catch (IOException ioe) {
+				System.out.println("Could not load distance table: " + ioe.getMessage());
+			}
+		}
 		
 		showMenu();
 	}
 	
+	// show the menu until the user exits
 	private static void showMenu(){
-		boolean userExit = false;
 		String input;
 		
-		do{
-			System.out.println("(1) Generate sample puzzle\n"
-					 		 + "(2) Enter your own puzzle\n"
-					 		 + "(3) Generate 100 puzzles and export result data to file\n"
-					 		 + "(4) Exit\n"
-					 		 + "Select option by number: ");
-			input = kb.next();
-			if(Pattern.matches("[1-3]", input)) {
-				break;
-			}else {
-				System.out.println("Incorrect input. Enter a valid option.\n");
+		while(true){
+			do{
+				System.out.println("(1) Generate sample puzzle\n"
+						 		 + "(2) Enter your own puzzle\n"
+						 		 + "(3) Generate 100 puzzles and export result data to file\n"
+						 		 + "(4) Build distance table of every puzzle and save to file\n"
+						 		 + "(5) Enter your own puzzle and solve using distance table\n"
+						 		 + "(6) Exit\n"
+						 		 + "Select option by number: ");
+				input = kb.next();
+				if(Pattern.matches("[1-6]", input)) {
+					break;
+				}else {
+					System.out.println("Incorrect input. Enter a valid option.\n");
+				}
+			}while(true);
+			System.out.println();
+			switch(Integer.parseInt(input)){
+				case 1:
+					runSamplePuzzle();
+					break;
+				case 2:
+					runUserPuzzle();
+					break;
+				case 3:
+					runTestCases();
+					break;
+				case 4:
+					buildDistanceTable();
+					break;
+				case 5:
+					runTablePuzzle();
+					break;
+				case 6:
+					System.out.println("Goodbye.");
+					return;
 			}
-		}while(true);
-		System.out.println();
-		switch(Integer.parseInt(input)){
-			case 1:
-				runSamplePuzzle();
-				break;
-			case 2:
-				runUserPuzzle();
-				break;
-			case 3:
-				runTestCases();
-				break;
-			case 4:
-				System.out.println("Goodbye.");
-				userExit = true;
-				break;
-		}
-		
-		if(!userExit){
+			
 			System.out.println();
 			do{
 				System.out.println("Enter 'X' to exit or 'O' for another option: ");
@@ -81,32 +123,30 @@ public class EightPuzzle {
 				}
 			}while(true);
 			System.out.println();
-			switch(input.charAt(0)){
-				case 'X':
-				case 'x':
-					System.out.println("Goodbye.");
-					break;
-				case 'O':
-				case 'o':
-					showMenu();
-					break;
+			if(input.equalsIgnoreCase("X")){
+				System.out.println("Goodbye.");
+				return;
 			}
 		}
 	}
 	
 	private static void runSamplePuzzle() {
 		System.out.println("SAMPLE TEST CASE:\n");
-		Puzzle puzzle = createSolvablePuzzle();
+		Puzzle puzzle = Puzzle.createSolvable(Board.of(3), r);
 		
 		// solve puzzle using h1
 		System.out.println("Solving Puzzle using H1");
 		Puzzle puzzleH1 = puzzle;
-		printSolution(solvePuzzle(puzzleH1, queueH2, new int[1]));
+		printSolution(solverH1.solve(puzzleH1));
 		
 		// solve puzzle using h2
 		System.out.println("Solving Puzzle using H2");
 		Puzzle puzzleH2 = puzzle;
-		printSolution(solvePuzzle(puzzleH2, queueH2, new int[1]));
+		printSolution(solverH2.solve(puzzleH2));
+		
+		// solve puzzle using IDA* with pattern databases
+		System.out.println("Solving Puzzle using IDA* with pattern databases");
+		printSolution(idaStar.solve(puzzle));
 	}
 	
 	private static void runUserPuzzle() {
@@ -114,590 +154,285 @@ public class EightPuzzle {
 		Puzzle puzzle, puzzleH1, puzzleH2;
 		String loop;
 		do {
-			// create solvable puzzle
-			do {
-				System.out.println("Enter an 8-puzzle (every digit 0-8 in any order): ");
-				String s;
-				do{
-					s = kb.next();
-					String pattern = "[0-8]{9}";
-					if(!Pattern.matches(pattern, s) || containsDuplicateTiles(s)) {
-						System.out.println("Incorrect input. Please input a correct puzzle.");
-					}else {
-						break;
-					}
-				}while(true);
-				int[] tiles = new int[9];
-				for (int j = 0; j < tiles.length; j++) {
-					tiles[j] = Character.getNumericValue(s.charAt(j));
-				}
-				puzzle = new Puzzle(tiles, 0);
-				
-				// ask user to re-enter a puzzle if puzzle is not solvable or already at goal state
-				if(!puzzle.isSolvable()){
-					System.out.println("Puzzle is not solvable. Please input another puzzle.");
-				}else if(puzzle.isGoalState()) {
-					System.out.println("Puzzle is already solved. Please input another puzzle.");
-				}else {
-					break;
-				}
-			}while(true);
+			puzzle = readUserPuzzle();
 			
 			// solve using h1
 			System.out.println("Solving Puzzle using H1");
 			puzzleH1 = puzzle;
-			printSolution(solvePuzzle(puzzleH1, queueH1, new int[1]));
+			printSolution(solverH1.solve(puzzleH1));
 			
 			// solve using h2
 			System.out.println("Solving Puzzle using H2");
 			puzzleH2 = puzzle;
-			printSolution(solvePuzzle(puzzleH2, queueH2, new int[1]));
+			printSolution(solverH2.solve(puzzleH2));
+			
+			// solve using IDA* with pattern databases
+			System.out.println("Solving Puzzle using IDA* with pattern databases");
+			printSolution(idaStar.solve(puzzle));
 
 			System.out.println("Another puzzle? (Y or N): ");
 			loop = kb.next();
 		} while (loop.equals("Y") || loop.equals("y"));
 	}
 	
-	// run 100 test cases to output and output results to a file
-	private static void runTestCases() {		
-		// store count of solved depths, up to depth 30
-		int[] depthH1 = new int[30];
-		int[] depthH2 = new int[30];
-
-		// store count of number of nodes generated at each depth
-		int[] nodesGenH1 = new int[30];
-		int[] nodesGenH2 = new int[30];
-		
-		// variables for calculating process runtime
-		long startTime, endTime, totalTime;
-
-		// store average solved runtimes
-		float[] averageRuntimeH1 = new float[30];
-		float[] averageRuntimeH2 = new float[30];
-		
-		int [] nodesGen = new int[1];
-		
-		Puzzle currentPuzzle, tempPuzzle, solvedPuzzle;
-		
-		System.out.println("Generating and solving 100 puzzles...");
-		for (int testcase = 0; testcase < 100; testcase++) {
-			if(testcase % 10 == 0) {
-				System.out.println("...");
-			}
-			currentPuzzle = createSolvablePuzzle();
-			
-			// start record nodes and time
-			nodesGen[0] = 0;
-			startTime = System.nanoTime();
-	
-//				System.out.println("Solving Puzzle using H1");
-			tempPuzzle = currentPuzzle;
-			solvedPuzzle = solvePuzzle(tempPuzzle, queueH1, nodesGen);
-//				printSolution(solvedPuzzle);
-			
-			// end record time
-			endTime = System.nanoTime();
-			totalTime = endTime - startTime;
-			averageRuntimeH1[solvedPuzzle.getDepth() - 1] += totalTime;
-			// end record depth
-			depthH1[solvedPuzzle.getDepth() - 1]++;
-			// end record nodes
-			nodesGenH1[solvedPuzzle.getDepth() - 1] += nodesGen[0];
-	
-			// start record nodes and time
-			nodesGen[0] = 0;
-			startTime = System.nanoTime();
-	
-//				System.out.println("Solving Puzzle using H2");
-			tempPuzzle = currentPuzzle;
-			solvedPuzzle = solvePuzzle(tempPuzzle, queueH2, nodesGen);
-//				printSolution(solvedPuzzle);
-			
-			// end record time
-			endTime = System.nanoTime();
-			totalTime = endTime - startTime;
-			averageRuntimeH2[solvedPuzzle.getDepth() - 1] += totalTime;
-			// end record depth
-			depthH2[solvedPuzzle.getDepth() - 1]++;
-			// end record nodes
-			nodesGenH2[solvedPuzzle.getDepth() - 1] += nodesGen[0];
+	private static void runTablePuzzle() {
+		if (table == null) {
+			System.out.println("No distance table loaded. Build the distance table first.");
+			return;
 		}
-		System.out.println("Puzzles solved.");
-		System.out.println("Calculating output data...");
-		// calculate average
-		for (int i = 0; i < 30; i++) {
-			if (depthH1[i] != 0) {
-				averageRuntimeH1[i] /= depthH1[i];
-				nodesGenH1[i] /= depthH1[i];
-			}
-			if (depthH2[i] != 0) {
-				averageRuntimeH2[i] /= depthH2[i];
-				nodesGenH2[i] /= depthH2[i];
-			}
-		}
-		System.out.println("Calculations completed.");
-		// load results into String
-		String fileString = "";
-		fileString += "Using A* Search Algorithm on an 8-Puzzle\n,# of Cases,,Nodes Generated,,Average Runtime,,\n";
-		fileString += "Depth,H1,H2,H1,H2,H1,H2\n";
-		for (int i = 0; i < 30; i++) {
-			fileString += ((i + 1) + "," + depthH1[i] + "," + depthH2[i] + "," + nodesGenH1[i] + "," + nodesGenH2[i]
-					+ "," + averageRuntimeH1[i] + "," + averageRuntimeH2[i] + "\n");
-		}
-		outputToFile(fileString);
-	}
-	
-	// solve puzzle using priority queue with heuristic and explored set
-	// nodesGen is an array of 1 integer only used to store the number of nodes for the method 'runTestCases()'
-	private static Puzzle solvePuzzle(Puzzle puzzle, Queue<Puzzle> queue, int [] nodesGen) {
-		Puzzle p = puzzle;
-		explored.put(Arrays.toString(p.getTiles()), 0);
+		Puzzle puzzle;
+		String loop;
 		do {
-			nodesGen[0] += generateNextPuzzles(p, queue, explored);
-			p = queue.poll();
-		} while (!p.isGoalState());
-		
-		explored.clear();
-		queue.clear();
-		
-		return p;
+			puzzle = readUserPuzzle();
+			
+			System.out.println("Solving Puzzle using distance table");
+			printSolution(table.solve(puzzle));
+
+			System.out.println("Another puzzle? (Y or N): ");
+			loop = kb.next();
+		} while (loop.equals("Y") || loop.equals("y"));
 	}
 	
-	private static Puzzle createSolvablePuzzle() {
-		Map<Integer, Integer> mapTiles = new HashMap<Integer, Integer>();
-		int[] tiles;
-		int newTile;
-		Puzzle startPuzzle;
+	// read puzzles from the user until one is solvable and not already solved
+	private static Puzzle readUserPuzzle() {
+		Puzzle puzzle;
 		do {
-			tiles = new int[9];
-			mapTiles.clear();
-			
-			//generate 9 distinct tiles
+			System.out.println("Enter an 8-puzzle (every digit 0-8 in any order): ");
+			String s;
+			do{
+				s = kb.next();
+				String pattern = "[0-8]{9}";
+				if(!Pattern.matches(pattern, s) || containsDuplicateTiles(s)) {
+					System.out.println("Incorrect input. Please input a correct puzzle.");
+				}else {
+					break;
+				}
+			}while(true);
+			int[] tiles = new int[9];
 			for (int j = 0; j < tiles.length; j++) {
-				do {
-					newTile = r.nextInt(9);
-				} while (mapTiles.containsKey(newTile));
-				mapTiles.put(newTile, 1);
-				tiles[j] = newTile;
+				tiles[j] = Character.getNumericValue(s.charAt(j));
 			}
-			startPuzzle = new Puzzle(tiles, 0);
-			// loop if puzzle is solvable or already in goal state
-		} while (!startPuzzle.isSolvable() || startPuzzle.isGoalState());
-		
-		return startPuzzle;
-	}
-	
-	private static boolean containsDuplicateTiles(String s) {
-		Map<Character,Integer> chars = new HashMap<>();
-		for(int i=0;i<s.length();i++) {
-			if(chars.containsKey(s.charAt(i))) {
-				return true;
+			puzzle = new Puzzle(tiles, 0);
+			
+			// ask user to re-enter a puzzle if puzzle is not solvable or already at goal state
+			if(!puzzle.isSolvable()){
+				System.out.println("Puzzle is not solvable. Please input another puzzle.");
+			}else if(puzzle.isGoalState()) {
+				System.out.println("Puzzle is already solved. Please input another puzzle.");
 			}else {
-				chars.put(s.charAt(i), 0);
+				break;
 			}
-		}
-		return false;
+		}while(true);
+		return puzzle;
 	}
 	
-	
-	// print solution of puzzle nodes starting at the solution leaf node and moving up to the root puzzle
-	// root puzzle will have parent NULL
-	private static void printSolution(Puzzle p) {
-		int endDepth = p.getDepth();
-		String puzzlesInOrder = "";
-		do {
-			if(p.getDepth() % 4 == 0) {
-				puzzlesInOrder = "\nDepth" + p.getDepth() + "-" + p.getTileString() + " -> " + puzzlesInOrder;
-			}else {
-				puzzlesInOrder = "Depth" + p.getDepth() + "-" + p.getTileString() + " -> " + puzzlesInOrder;
-			}
-			p = p.getParent();
-		} while (p != null);
-		System.out.println(puzzlesInOrder + "Solved Puzzle at Depth " + endDepth + "\n");
-	}
-
-	private static void outputToFile(String fileString) {
-		BufferedWriter bw = null;
+	// compute the distance of every solvable puzzle, save it and use it for table lookups
+	private static void buildDistanceTable() {
+		System.out.println("Building distance table...");
+		table = DistanceTable.build();
 		try {
-			File file = new File(".\\output\\100TestCases.csv");
-
-			if (!file.exists()) {
-				file.createNewFile();
-			}
-
-			FileWriter fw = new FileWriter(file);
-			bw = new BufferedWriter(fw);
-			bw.write(fileString);
-			String workingDir = System.getProperty("user.dir");
-			System.out.println("Write to file successful at to "+workingDir+"\\output\\100TestCases.csv");
+			table.write(TABLE_PATH);
+			System.out.println("Write to file successful at " + TABLE_PATH.toAbsolutePath());
 		} catch (IOException ioe) {
 			ioe.printStackTrace();
-		} finally {
-			try {
-				if (bw != null)
-					bw.close();
-			} catch (Exception ex) {
-				System.out.println("Error in closing the BufferedWriter" + ex);
-			}
 		}
 	}
 	
-	// puzzle comparator for heuristic 1
-	private static Comparator<Puzzle> priorityComparatorH1 = new Comparator<Puzzle>() {
-		public int compare(Puzzle p1, Puzzle p2) {
-			return (int) ((p1.getDepth() + findH1(p1.getTiles())) - (p2.getDepth() + findH1(p2.getTiles())));
-		}
-	};
-	
-	// puzzle comparator for heuristic 2
-	private static Comparator<Puzzle> priorityComparatorH2 = new Comparator<Puzzle>() {
-		public int compare(Puzzle p1, Puzzle p2) {
-			return (int) ((p1.getDepth() + findH2(p1.getTiles())) - (p2.getDepth() + findH2(p2.getTiles())));
-		}
-	};
-	
-	private static void generateNextHelper(int[][] newPuzzleTiles, int index, Puzzle parent, Map<String, Integer> explored,
-			Queue<Puzzle> q) {
-		Puzzle tempPuzzle = new Puzzle(newPuzzleTiles[index], parent.getDepth() + 1);
-		tempPuzzle.setParent(parent);
-		String puzzleAsString = Arrays.toString(tempPuzzle.getTiles());
-		if (tempPuzzle.isSolvable() && !explored.containsKey(puzzleAsString)) {
-			explored.put(puzzleAsString, 0);
-			q.add(tempPuzzle);
+	// build the pattern databases of a board offline and save them where the solvers map them from
+	// run as: pdb [width]
+	private static void buildPatternDatabase(Board board) {
+		System.out.println("Building pattern databases of the " + (board.getSize() - 1) + "-puzzle...");
+		Path path = PatternDatabase.defaultPath(board);
+		try {
+			PatternDatabase.build(board).write(path);
+			System.out.println("Write to file successful at " + path.toAbsolutePath());
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
 		}
 	}
 	
-	// return number of puzzle nodes generated, possible 2,3,4
-	// return -1 if no puzzles generated
-	private static int generateNextPuzzles(Puzzle p, Queue<Puzzle> q, Map<String, Integer> explored) {
-		int[][] newPuzzleTiles;
-
-		for (int i = 0; i < p.getTiles().length; i++) {
-			if (p.getTiles()[i] == 0) {
-				switch (i) {
-				case 0: {
-					// 2 new puzzle nodes
-					newPuzzleTiles = create2Puzzles(p, 0, 1, 3);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 2;
-				}
-				case 2: {
-					// 2 new puzzle nodes
-					newPuzzleTiles = create2Puzzles(p, 2, 1, 5);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 2;
-				}
-				case 6: {
-					// 2 new puzzle nodes
-					newPuzzleTiles = create2Puzzles(p, 6, 3, 7);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 2;
-				}
-				case 8: {
-					// 2 new puzzle nodes
-					newPuzzleTiles = create2Puzzles(p, 8, 5, 7);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 2;
-				}
-				case 1: {
-					// 3 new puzzle nodes
-					newPuzzleTiles = create3Puzzles(p, 1, 0, 2, 4);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 3;
-				}
-				case 3: {
-					// 3 new puzzle nodes
-					newPuzzleTiles = create3Puzzles(p, 3, 0, 4, 6);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 3;
-				}
-				case 5: {
-					// 3 new puzzle nodes
-					newPuzzleTiles = create3Puzzles(p, 5, 2, 4, 8);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 3;
-				}
-				case 7: {
-					// 3 new puzzle nodes
-					newPuzzleTiles = create3Puzzles(p, 7, 4, 6, 8);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 3;
-				}
-				case 4: {
-					// 4 new puzzle nodes
-					newPuzzleTiles = create4Puzzles(p, 4, 1, 3, 5, 7);
-					for (int j = 0; j < newPuzzleTiles.length; j++) {
-						generateNextHelper(newPuzzleTiles, j, p, explored, q);
-					}
-					return 4;
-				}
-				}
-				break;
-			}
-		}
-		return -1;
+	// run 100 test cases spread evenly over every depth from 1 to 31 and output results to a file
+	private static void runTestCases() {
+		long seed = r.nextLong();
+		System.out.println("Generating and solving 100 puzzles with seed " + seed + "...");
+		InstanceGenerator generator = table != null ? new InstanceGenerator(table) : InstanceGenerator.of(Board.of(3));
+		runBenchmark(new Benchmark(generator, InstanceGenerator.spread(100, 1, 31), seed,
+				new Heuristic[] { new MisplacedTiles(), new Manhattan() }, Runtime.getRuntime().availableProcessors()),
+				Paths.get("output", "100TestCases.csv"), Paths.get("output", "100TestCasesResults.csv"));
 	}
 	
-	// return 2 possible puzzles from 2 possible tile moves in 2 directions
-	// X O O	O O X	O O O	O O O
-	// O O O	O O O	O O O	O O O
-	// O O O	O O O	X O O	O O X
-	private static int[][] create2Puzzles(Puzzle p, int current, int first, int second) {
-		int[][] newPuzzleTiles = new int[2][];
-		
-		newPuzzleTiles[0] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[0][current] = p.getTiles()[first];
-		newPuzzleTiles[0][first] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == first))
-				newPuzzleTiles[0][j] = p.getTiles()[j];
-		}
-		
-		newPuzzleTiles[1] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[1][current] = p.getTiles()[second];
-		newPuzzleTiles[1][second] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == second))
-				newPuzzleTiles[1][j] = p.getTiles()[j];
-		}
-		
-		return newPuzzleTiles;
-	}
-
-	// return 3 new puzzles from 3 possible tile moves in 3 directions
-	// O X O	O O O	O O O	O O O
-	// O O O	X O O	O O O	O O X
-	// O O O	O O O	O X O	O O O
-	private static int[][] create3Puzzles(Puzzle p, int current, int first, int second, int third) {
-		int[][] newPuzzleTiles = new int[3][];
-		
-		newPuzzleTiles[0] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[0][current] = p.getTiles()[first];
-		newPuzzleTiles[0][first] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == first))
-				newPuzzleTiles[0][j] = p.getTiles()[j];
-		}
-		
-		newPuzzleTiles[1] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[1][current] = p.getTiles()[second];
-		newPuzzleTiles[1][second] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == second))
-				newPuzzleTiles[1][j] = p.getTiles()[j];
+	// run a benchmark from command line arguments:
+	// bench [instances] [seed] [threads] [heuristics] [results file] [width] [depths]
+	// heuristics are a comma separated list of heuristic numbers or names, see Heuristic.of(), e.g. 1,2,4
+	// or 3+4 for the larger of the pattern databases and linear conflict
+	// results file receives a row per solved puzzle, as NDJSON when it ends in .ndjson and CSV otherwise
+	// width is the board width, 3 for the 8-puzzle and 4 for the 15-puzzle
+	// depths is an optimal depth or a range such as 1-31 to spread the instances evenly over, puzzles are
+	// uniformly random without it
+	private static void runBenchmark(String[] args) {
+		int instances = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : r.nextLong();
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		Heuristic[] heuristics = { new MisplacedTiles(), new Manhattan() };
+		if (args.length > 4) {
+			String[] names = args[4].split(",");
+			heuristics = new Heuristic[names.length];
+			for (int i = 0; i < names.length; i++) {
+				heuristics[i] = Heuristic.of(names[i]);
+			}
 		}
-		
-		newPuzzleTiles[2] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[2][current] = p.getTiles()[third];
-		newPuzzleTiles[2][third] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == third))
-				newPuzzleTiles[2][j] = p.getTiles()[j];
+		Path results = args.length > 5 && !args[5].equals("-") ? Paths.get(args[5]) : null;
+		Board board = Board.of(args.length > 6 ? Integer.parseInt(args[6]) : 3);
+		System.out.println("Generating and solving " + instances + " " + board + " puzzles with seed " + seed + " on "
+				+ threads + " threads...");
+		Benchmark benchmark;
+		if (args.length > 7) {
+			String[] range = args[7].split("-");
+			int min = Integer.parseInt(range[0].trim());
+			int max = Integer.parseInt(range[range.length - 1].trim());
+			benchmark = new Benchmark(InstanceGenerator.of(board), InstanceGenerator.spread(instances, min, max), seed,
+					heuristics, threads);
+		} else {
+			benchmark = new Benchmark(board, instances, seed, heuristics, threads);
 		}
-		
-		return newPuzzleTiles;
+		runBenchmark(benchmark, Paths.get("output", "benchmark.csv"), results);
 	}
 	
-	// return 4 puzzles for 4 possible tile moves in each direction
-	// O O O
-	// O X O
-	// O O O
-	private static int[][] create4Puzzles(Puzzle p, int current, int first, int second, int third, int fourth) {
-		int[][] newPuzzleTiles = new int[4][];
-		
-		newPuzzleTiles[0] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[0][current] = p.getTiles()[first];
-		newPuzzleTiles[0][first] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == first))
-				newPuzzleTiles[0][j] = p.getTiles()[j];
-		}
-		
-		newPuzzleTiles[1] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[1][current] = p.getTiles()[second];
-		newPuzzleTiles[1][second] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == second))
-				newPuzzleTiles[1][j] = p.getTiles()[j];
-		}
-		
-		newPuzzleTiles[2] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[2][current] = p.getTiles()[third];
-		newPuzzleTiles[2][third] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == third))
-				newPuzzleTiles[2][j] = p.getTiles()[j];
-		}
-		
-		newPuzzleTiles[3] = new int[p.getTiles().length];
-		// swap tiles
-		newPuzzleTiles[3][current] = p.getTiles()[fourth];
-		newPuzzleTiles[3][fourth] = p.getTiles()[current];
-		// copy the rest of tiles
-		for (int j = 0; j < p.getTiles().length; j++) {
-			if (!(j == current || j == fourth))
-				newPuzzleTiles[3][j] = p.getTiles()[j];
-		}
-		
-		return newPuzzleTiles;
-	}
-	
-	// return heuristic for the number of misplaced tiles
-	private static int findH1(int[] tiles) {
-		int h1 = 0;
-		for (int i = 0; i < tiles.length; i++) {
-			if (tiles[i] != 0 && tiles[i] != i)
-				h1++;
+	// solve a file of puzzles without the menu:
+	// batch [input file|-] [output file|-] [threads] [heuristic] [cache states]
+	// '-' or a missing file reads stdin or writes stdout, one puzzle per line as read by Puzzle.parse()
+	// an output file ending in .bin gets MoveSequence records instead of lines of text
+	// puzzles are solved optimally by IDA* with the heuristic, linear conflict by default, sharing a cache of
+	// that many states when it is above 0, so repeated puzzles and states on their paths are not searched again
+	private static void runBatch(String[] args) {
+		Path input = args.length > 1 && !args[1].equals("-") ? Paths.get(args[1]) : null;
+		Path output = args.length > 2 && !args[2].equals("-") ? Paths.get(args[2]) : null;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		String heuristic = args.length > 4 ? args[4] : "4";
+		int cacheStates = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+		SolutionCache cache = cacheStates > 0 ? new SolutionCache(cacheStates) : null;
+		BatchSolver batch = new BatchSolver(() -> {
+			SearchEngine engine = new IdaStarSolver(Heuristic.of(heuristic));
+			return SearchMetrics.instrument(cache == null ? engine : new CachingEngine(engine, cache));
+		}, threads);
+
+		long startTime = System.nanoTime();
+		try (BufferedReader in = input == null
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+				: Files.newBufferedReader(input);
+				OutputStream stream = new BufferedOutputStream(
+						output == null ? System.out : Files.newOutputStream(output), 1 << 16)) {
+			if (output != null && output.toString().endsWith(".bin")) {
+				batch.run(in, BatchSolver.binary(new DataOutputStream(stream)));
+			} else {
+				Writer out = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+				batch.run(in, BatchSolver.text(out));
+				out.flush();
+			}
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			System.err.println("Batch interrupted.");
+			return;
 		}
-		return h1;
+		// progress goes to stderr, stdout may be carrying the solutions
+		System.err.println("Solved " + batch.getSolved() + " puzzles, " + batch.getUnsolvable() + " unsolvable, "
+				+ batch.getErrors() + " errors in " + (System.nanoTime() - startTime) / 1000000 + " ms on " + threads
+				+ " threads" + (cache == null ? "" : ", " + cache));
 	}
 	
-	// return heuristic for the sum of the distance of each tile from their correct positions
-	private static int findH2(int[] tiles) {
-		int h2 = 0;
-		for (int i = 0; i < tiles.length; i++) {
-			if (tiles[i] != 0) {
-				// calculate column moves
-				int columnDiff = Math.abs((tiles[i] % 3) - (i % 3));
-				// calculate row moves
-				int rowDiff = Math.abs((tiles[i] / 3) - (i / 3));
-				h2 += columnDiff + rowDiff;
+	// run a benchmark streaming each result to 'results' if not null, then write the table of averages to 'summary'
+	private static void runBenchmark(Benchmark benchmark, Path summary, Path results) {
+		DepthStats[] stats;
+		ResultWriter writer = null;
+		try {
+			if (results != null) {
+				writer = ResultWriter.open(results);
+				benchmark.setResultWriter(writer);
+			}
+			stats = benchmark.run();
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			System.out.println("Benchmark interrupted.");
+			return;
+		} finally {
+			try {
+				if (writer != null)
+					writer.close();
+			} catch (IOException ex) {
+				System.out.println("Error in closing the result file" + ex);
 			}
 		}
-		return h2;
-	}
-}
-
-class Puzzle {
-	private int[] tiles;
-	private int depth;
-	private Puzzle parent;
-	
-	// copy constructor
-	public Puzzle(Puzzle p) {
-		tiles = new int[p.getTiles().length];
-		for (int i = 0; i < p.getTiles().length; i++) {
-			tiles[i] = p.getTiles()[i];
+		System.out.println("Puzzles solved.");
+		if (results != null) {
+			System.out.println("Results written to " + results.toAbsolutePath());
 		}
-		depth = p.getDepth();
-		parent = p.getParent();
+		writeSummary(summary, benchmark.getBoard(), benchmark.getHeuristics(), stats);
 	}
 	
-	// constructor of a puzzle from a tile set and depth
-	public Puzzle(int[] t, int d) {
-		tiles = new int[t.length];
-		for (int i = 0; i < tiles.length; i++) {
-			tiles[i] = t[i];
+	// write the table of cases, nodes generated and runtime averaged by depth
+	// one row per depth, at least up to depth 30, with one column per heuristic in each group
+	private static void writeSummary(Path path, Board board, Heuristic[] heuristics, DepthStats[] stats) {
+		int depths = 31;
+		for (DepthStats s : stats) {
+			depths = Math.max(depths, s.size());
 		}
-		depth = d;
-		parent = null;
-	}
-	
-	// return pointer to parent puzzle
-	public Puzzle getParent() {
-		return parent;
-	}
-	
-	// set parent puzzle (previous state of puzzle)
-	public void setParent(Puzzle parent) {
-		this.parent = parent;
-	}
-	
-	// return an array of the puzzle's tiles
-	public int[] getTiles() {
-		return tiles;
-	}
-	
-	//return tiles integers in 3x3 format
-	public String getTileString() {
-//		String s = "";
-//		for (int i = 0; i < tiles.length; i++) {
-//			switch(i){
-//				case 3:
-//				case 6:
-//					s += ("\n"+Integer.toString(tiles[i])+" ");
-//					break;
-//				default:
-//					s += Integer.toString(tiles[i])+" ";
-//					break;
-//			}
-//		}
-		
-		String s = "[";
-		for (int i = 0; i < tiles.length; i++) {
-			s += Integer.toString(tiles[i]);
+		StringBuilder names = new StringBuilder();
+		StringBuilder gap = new StringBuilder();
+		for (Heuristic h : heuristics) {
+			names.append(',').append(h);
+			gap.append(',');
 		}
-		s += "]";
-		return s;
-	}
-	
-	public int getDepth() {
-		return depth;
-	}
-
-	// return true if number of inversions is even
-	// number of inversions is equal to the sum of N
-	// where N is the number of tiles with numbers less than the current tile
-	public boolean isSolvable() {
-		int inversions = 0;
-		for (int i = 0; i < tiles.length; i++) {
-			// do not include empty tile (tile 0) as part of calculations
-			if (tiles[i] != 0) {
-				for (int j = i + 1; j < tiles.length; j++) {
-					// do not include empty tile (tile 0) as part of calculations
-					if (tiles[j] != 0) {
-						if (tiles[i] > tiles[j]) {
-							inversions++;
-						}
+		try {
+			if (path.getParent() != null) {
+				Files.createDirectories(path.getParent());
+			}
+			try (BufferedWriter bw = Files.newBufferedWriter(path)) {
+				bw.write("Using A* Search Algorithm on an " + (board.getSize() - 1) + "-Puzzle\n");
+				bw.write(",# of Cases" + gap.substring(1) + ",Nodes Generated" + gap.substring(1) + ",Average Runtime"
+						+ gap + "\n");
+				bw.write("Depth" + names + names + names + "\n");
+				for (int depth = 1; depth < depths; depth++) {
+					bw.write(Integer.toString(depth));
+					for (DepthStats s : stats) {
+						bw.write("," + s.getCases(depth));
+					}
+					for (DepthStats s : stats) {
+						bw.write("," + s.getAverageNodesGenerated(depth));
 					}
+					for (DepthStats s : stats) {
+						bw.write("," + s.getAverageRuntime(depth));
+					}
+					bw.write("\n");
 				}
 			}
+			System.out.println("Write to file successful at " + path.toAbsolutePath());
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
 		}
-		if ((inversions % 2) == 0) {
-			return true;
-		}
-		return false;
 	}
-
-	public boolean isGoalState() {
-		// return false if any tile is not in the correct spot
-		for (int i = 0; i < tiles.length; i++) {
-			if (tiles[i] != i) {
-				return false;
+	
+	private static boolean containsDuplicateTiles(String s) {
+		Map<Character,Integer> chars = new HashMap<>();
+		for(int i=0;i<s.length();i++) {
+			if(chars.containsKey(s.charAt(i))) {
+				return true;
+			}else {
+				chars.put(s.charAt(i), 0);
 			}
 		}
-		return true;
+		return false;
+	}
+	
+	
+	// print every board of a solution from the start, replayed from its moves, 4 boards per line
+	private static void printSolution(Puzzle p) {
+		MoveSequence moves = MoveSequence.of(p);
+		System.out.println(moves.render() + "Solved Puzzle at Depth " + moves.length() + "\n");
 	}
 }
@@ -0,0 +1,69 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// open list for focal search: nodes are kept in LIFO stacks by f and h, and poll() returns the node with
+// the lowest h among those whose f is within w times the lowest f (the focal list)
+// superseded nodes are not removed, callers skip them when they are polled
+class FocalList {
+	private final TriangularStacks stacks = new TriangularStacks();
+	// the lowest h that may be present for each f
+	private int[] minH = new int[0];
+	private int minF;
+	private int maxF;
+	private int size;
+
+	public void add(int node, int f, int h) {
+		stacks.push(node, f, h);
+		if (f >= minH.length) {
+			minH = Arrays.copyOf(minH, stacks.rows());
+		}
+		if (stacks.count(f) == 1 || h < minH[f]) {
+			minH[f] = h;
+		}
+		if (size++ == 0) {
+			minF = maxF = f;
+		} else {
+			minF = Math.min(minF, f);
+			maxF = Math.max(maxF, f);
+		}
+	}
+
+	// remove and return the lowest h node with f at most weight times the lowest f, -1 if empty
+	public int poll(double weight) {
+		if (size == 0) {
+			return -1;
+		}
+		while (stacks.count(minF) == 0) {
+			minF++;
+		}
+		int bound = Math.min(maxF, (int) (minF * weight));
+		int bestF = -1;
+		int bestH = Integer.MAX_VALUE;
+		for (int f = minF; f <= bound; f++) {
+			if (stacks.count(f) == 0) {
+				continue;
+			}
+			while (stacks.isEmpty(f, minH[f])) {
+				minH[f]++;
+			}
+			if (minH[f] < bestH) {
+				bestF = f;
+				bestH = minH[f];
+			}
+		}
+		size--;
+		return stacks.pop(bestF, bestH);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		stacks.clear();
+		size = 0;
+		minF = 0;
+		maxF = 0;
+	}
+}
@@ -0,0 +1,78 @@
+package eightPuzzle;
+
+// focal search: among the open nodes whose f is within w times the lowest f, expand the one that looks
+// closest to the goal by h
+// the lowest f never exceeds the optimal cost, so the solution costs at most w times the optimal one, while
+// the choice by h heads for the goal much like a greedy search
+public class FocalSolver implements SearchEngine {
+	private final Heuristic heuristic;
+	private final double weight;
+	private final NodePool nodes = new NodePool(1 << 16);
+	private final LongIntMap explored = new LongIntMap(1 << 16);
+	private final FocalList open = new FocalList();
+
+	private long nodesGenerated;
+	private long nodesExpanded;
+
+	public FocalSolver(Heuristic heuristic, double weight) {
+		if (weight < 1) {
+			throw new IllegalArgumentException("Weight must be at least 1");
+		}
+		this.heuristic = heuristic;
+		this.weight = weight;
+	}
+
+	// return a goal puzzle at most w times further than the optimal one, or null if it cannot be solved
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+		Board board = puzzle.getBoard();
+		long state = puzzle.getState();
+		int h = heuristic.estimate(board, state);
+		int node = nodes.add(state, puzzle.getBlank(), 0, h, NodePool.NONE);
+		explored.put(state, node);
+		open.add(node, h, h);
+		Puzzle solution = null;
+		while ((node = open.poll(weight)) != NodePool.NONE) {
+			state = nodes.state(node);
+			if (explored.get(state) != node) {
+				// superseded by a shorter path to its state
+				continue;
+			}
+			if (state == board.getGoal()) {
+				solution = nodes.toPuzzle(board, node);
+				break;
+			}
+			nodesExpanded++;
+			int to = nodes.blank(node);
+			int g = nodes.g(node) + 1;
+			int[] cells = board.neighbours(to);
+			nodesGenerated += cells.length;
+			for (int from : cells) {
+				long child = Puzzle.slide(state, to, from);
+				int known = explored.get(child);
+				if (known == LongIntMap.MISSING || nodes.g(known) > g) {
+					h = heuristic.update(board, nodes.h(node), state, from, to);
+					int c = nodes.add(child, from, g, h, node);
+					explored.put(child, c);
+					open.add(c, g + h, h);
+				}
+			}
+		}
+		nodes.reset();
+		explored.clear();
+		open.clear();
+		return solution;
+	}
+
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+}
@@ -0,0 +1,422 @@
+package eightPuzzle;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// hash distributed A* (HDA*) solving a single puzzle on several threads
+// every state is owned by one worker chosen by its hash, each worker keeps the nodes, explored states and
+// open list of the states it owns, and children owned by another worker are sent to it in batches through
+// a lock-free queue
+// the first goal found gives an incumbent cost U, after which nodes with f >= U are dropped; the search ends
+// when every worker is out of nodes and no batch is in flight, at which point no path cheaper than U is left
+// termination is detected with one counter of active workers plus batches sent but not yet processed:
+// a batch is counted before it is queued and uncounted after it is processed, and an idle worker counts
+// itself active again before uncounting the batch that woke it, so the counter only reaches 0 once all
+// work is done
+// the worker threads are started once by the constructor and park between solves and when their inbox stays
+// empty, so an idle worker takes no CPU from the others; close() stops them
+public class HdaStarSolver implements SearchEngine, Closeable {
+	// children per message batch, and expansions between flushes of partly filled batches
+	private static final int BATCH = 64;
+	private static final int FLUSH_INTERVAL = 256;
+	// yields of an idle worker before it parks
+	private static final int SPINS = 16;
+	// longs per message: state, parent reference, and g, h and blank cell packed together
+	private static final int MESSAGE = 3;
+	// parent reference of the root
+	private static final long ROOT = -1;
+
+	private final Heuristic heuristic;
+	private final Worker[] workers;
+	private Board board;
+
+	// active workers plus batches in flight
+	private final AtomicInteger pending = new AtomicInteger();
+	private volatile boolean done;
+	// workers still searching the current solve, the last one to stop wakes the solving thread
+	private final AtomicInteger running = new AtomicInteger();
+	// raised for each solve, a worker starts searching when it sees a round it has not searched
+	private volatile int round;
+	private volatile boolean closed;
+	private volatile Thread caller;
+	private volatile Throwable failure;
+
+	// incumbent solution cost and the reference of its goal node
+	private volatile int best;
+	private long goal;
+
+	private long nodesGenerated;
+	private long nodesExpanded;
+
+	public HdaStarSolver(Heuristic heuristic, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("HDA* needs at least one thread");
+		}
+		this.heuristic = heuristic;
+		workers = new Worker[threads];
+		for (int i = 0; i < threads; i++) {
+			workers[i] = new Worker(i);
+		}
+		for (Worker worker : workers) {
+			worker.thread.start();
+		}
+	}
+
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		if (closed) {
+			throw new IllegalStateException("HDA* solver is closed");
+		}
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+		board = puzzle.getBoard();
+		long start = puzzle.getState();
+		if (!board.isSolvable(start)) {
+			return null;
+		}
+		for (Worker worker : workers) {
+			worker.reset();
+		}
+		best = Integer.MAX_VALUE;
+		goal = ROOT;
+		done = false;
+		pending.set(workers.length);
+		workers[owner(start)].insert(start, 0, heuristic.estimate(board, start), puzzle.getBlank(), ROOT);
+
+		failure = null;
+		caller = Thread.currentThread();
+		running.set(workers.length);
+		round++;
+		for (Worker worker : workers) {
+			LockSupport.unpark(worker.thread);
+		}
+		// wait for every worker, even after an interrupt, so none is still searching when solve() returns
+		boolean interrupted = false;
+		while (running.get() > 0) {
+			LockSupport.park(this);
+			if (Thread.interrupted() && !interrupted) {
+				interrupted = true;
+				finish();
+			}
+		}
+		if (failure != null) {
+			throw new IllegalStateException("HDA* worker failed", failure);
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		for (Worker worker : workers) {
+			nodesGenerated += worker.generated;
+			nodesExpanded += worker.expanded;
+		}
+		return best == Integer.MAX_VALUE ? null : rebuild();
+	}
+
+	// stop the worker threads, the solver cannot be used afterwards
+	@Override
+	public void close() {
+		closed = true;
+		finish();
+		boolean interrupted = false;
+		for (Worker worker : workers) {
+			while (worker.thread.isAlive()) {
+				try {
+					worker.thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	// record a goal reached by a cheaper path than the incumbent
+	private synchronized void offer(int cost, long reference) {
+		if (cost < best) {
+			best = cost;
+			goal = reference;
+		}
+	}
+
+	// follow the parent references from the goal across the workers, then link the path from the start
+	private Puzzle rebuild() {
+		long[] path = new long[best + 1];
+		int length = 0;
+		for (long reference = goal; reference != ROOT; reference = workers[(int) (reference >>> 32)]
+				.parentOf((int) reference)) {
+			path[length++] = reference;
+		}
+		Puzzle p = null;
+		for (int i = length - 1; i >= 0; i--) {
+			Worker worker = workers[(int) (path[i] >>> 32)];
+			int node = (int) path[i];
+			long state = worker.nodes.state(node);
+			p = new Puzzle(board, state, worker.nodes.blank(node), length - 1 - i, heuristic.estimate(board, state), p);
+		}
+		return p;
+	}
+
+	// end the current solve and wake every parked worker to see it
+	private void finish() {
+		done = true;
+		for (Worker worker : workers) {
+			LockSupport.unpark(worker.thread);
+		}
+	}
+
+	// worker owning a state
+	private int owner(long state) {
+		long h = state * 0x9E3779B97F4A7C15L;
+		return (int) ((h >>> 32) % workers.length);
+	}
+
+	// search of the states owned by one thread
+	private class Worker implements Runnable {
+		private final int id;
+		private final Thread thread;
+		// set while the worker is parked waiting for a batch, so senders only unpark a worker that needs it
+		private volatile boolean idle;
+		private final NodePool nodes = new NodePool(1 << 14);
+		private final LongIntMap explored = new LongIntMap(1 << 14);
+		private final BucketOpenList open = new BucketOpenList();
+		// parent of each node as a reference: worker id in the high int, node index in the low int
+		private long[] parents = new long[1 << 14];
+		private final Queue<long[]> inbox = new ConcurrentLinkedQueue<>();
+		// batches being filled for each worker, and the number of messages in each
+		private final long[][] outbox;
+		private final int[] outboxSizes;
+		private long generated;
+		private long expanded;
+
+		Worker(int id) {
+			this.id = id;
+			thread = new Thread(this, "hda-worker-" + id);
+			// an engine that is never closed must not keep the JVM alive
+			thread.setDaemon(true);
+			outbox = new long[workers.length][];
+			outboxSizes = new int[workers.length];
+		}
+
+		void reset() {
+			nodes.reset();
+			explored.clear();
+			open.clear();
+			inbox.clear();
+			for (int w = 0; w < outbox.length; w++) {
+				outbox[w] = new long[BATCH * MESSAGE];
+				outboxSizes[w] = 0;
+			}
+			generated = 0;
+			expanded = 0;
+		}
+
+		long parentOf(int node) {
+			return parents[node];
+		}
+
+		// search each new round until the solver is closed
+		@Override
+		public void run() {
+			int searched = 0;
+			while (true) {
+				while (round == searched && !closed) {
+					LockSupport.park(this);
+				}
+				if (closed) {
+					return;
+				}
+				searched = round;
+				try {
+					search();
+				} catch (Throwable e) {
+					failure = e;
+				} finally {
+					// a failed worker must not leave the others waiting
+					finish();
+					if (running.decrementAndGet() == 0) {
+						LockSupport.unpark(caller);
+					}
+				}
+			}
+		}
+
+		private void search() {
+			int sinceFlush = 0;
+			while (!done) {
+				long[] batch;
+				while ((batch = inbox.poll()) != null) {
+					receive(batch);
+					pending.decrementAndGet();
+				}
+				int node = next();
+				if (node != NodePool.NONE) {
+					expand(node);
+					if (++sinceFlush == FLUSH_INTERVAL) {
+						flush();
+						sinceFlush = 0;
+					}
+					continue;
+				}
+				flush();
+				sinceFlush = 0;
+				// idle until a batch arrives or every worker is idle
+				if (pending.decrementAndGet() == 0) {
+					finish();
+					return;
+				}
+				if ((batch = awaitBatch()) == null) {
+					return;
+				}
+				pending.incrementAndGet();
+				receive(batch);
+				pending.decrementAndGet();
+			}
+		}
+
+		// wait until a batch arrives, null once the solve is over
+		// a batch usually follows within a few yields, which is far cheaper than a park and unpark, so the
+		// worker yields SPINS times before it parks
+		// idle is raised before the inbox is checked again, so a sender either sees it and unparks the worker
+		// or queued its batch before that check
+		private long[] awaitBatch() {
+			long[] batch;
+			for (int spin = 0; spin < SPINS; spin++) {
+				if ((batch = inbox.poll()) != null || done) {
+					return batch;
+				}
+				Thread.yield();
+			}
+			idle = true;
+			while ((batch = inbox.poll()) == null && !done) {
+				LockSupport.park(this);
+			}
+			idle = false;
+			return batch;
+		}
+
+		// return the open node of lowest f below the incumbent cost, NONE if there is none
+		private int next() {
+			int node;
+			while ((node = open.poll()) != NodePool.NONE) {
+				if (nodes.f(node) >= best) {
+					// every other open node has an f at least as high
+					open.clear();
+					return NodePool.NONE;
+				}
+				if (explored.get(nodes.state(node)) == node) {
+					return node;
+				}
+			}
+			return NodePool.NONE;
+		}
+
+		private void expand(int node) {
+			expanded++;
+			long state = nodes.state(node);
+			int to = nodes.blank(node);
+			int g = nodes.g(node) + 1;
+			long reference = (long) id << 32 | node;
+			int[] cells = board.neighbours(to);
+			generated += cells.length;
+			for (int from : cells) {
+				int h = heuristic.update(board, nodes.h(node), state, from, to);
+				if (g + h >= best) {
+					continue;
+				}
+				long child = Puzzle.slide(state, to, from);
+				int owner = owner(child);
+				if (owner == id) {
+					insert(child, g, h, from, reference);
+				} else {
+					send(owner, child, g, h, from, reference);
+				}
+			}
+		}
+
+		// add a state reached by a path shorter than any known, recording it as the incumbent if it is the goal
+		void insert(long state, int g, int h, int blank, long parent) {
+			int known = explored.get(state);
+			if (known != LongIntMap.MISSING && nodes.g(known) <= g) {
+				return;
+			}
+			int node = nodes.add(state, blank, g, h, NodePool.NONE);
+			if (node == parents.length) {
+				parents = Arrays.copyOf(parents, node << 1);
+			}
+			parents[node] = parent;
+			explored.put(state, node);
+			if (state == board.getGoal()) {
+				offer(g, (long) id << 32 | node);
+			} else {
+				open.add(node, g + h, g);
+			}
+		}
+
+		private void send(int owner, long state, int g, int h, int blank, long parent) {
+			long[] batch = outbox[owner];
+			int i = outboxSizes[owner]++ * MESSAGE;
+			batch[i] = state;
+			batch[i + 1] = parent;
+			batch[i + 2] = (long) g << 32 | h << 8 | blank;
+			if (outboxSizes[owner] == BATCH) {
+				post(owner);
+			}
+		}
+
+		private void receive(long[] batch) {
+			for (int i = 0; i < batch.length; i += MESSAGE) {
+				long packed = batch[i + 2];
+				int g = (int) (packed >>> 32);
+				int h = (int) packed >>> 8;
+				if (g + h < best) {
+					insert(batch[i], g, h, (int) packed & 0xFF, batch[i + 1]);
+				}
+			}
+		}
+
+		// send every partly filled batch
+		private void flush() {
+			for (int w = 0; w < outbox.length; w++) {
+				if (outboxSizes[w] > 0) {
+					post(w);
+				}
+			}
+		}
+
+		// hand a batch to its owner, a full buffer is given away and a partial one copied and kept
+		private void post(int owner) {
+			long[] batch;
+			if (outboxSizes[owner] == BATCH) {
+				batch = outbox[owner];
+				outbox[owner] = new long[BATCH * MESSAGE];
+			} else {
+				batch = Arrays.copyOf(outbox[owner], outboxSizes[owner] * MESSAGE);
+			}
+			outboxSizes[owner] = 0;
+			// count the batch before it can be seen, so the receiver never uncounts it first
+			pending.incrementAndGet();
+			Worker receiver = workers[owner];
+			receiver.inbox.add(batch);
+			if (receiver.idle) {
+				LockSupport.unpark(receiver.thread);
+			}
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// open list backed by a binary heap, O(log n) add and poll
+// each entry packs f above the node index into a long, so ordering the longs orders by f
+public class HeapOpenList implements OpenList {
+	private long[] heap = new long[64];
+	private int size;
+
+	public void add(int node, int f, int g) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, size << 1);
+		}
+		long entry = (long) f << 32 | node;
+		// sift up
+		int i = size++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (heap[parent] <= entry) {
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = entry;
+	}
+
+	public int poll() {
+		if (size == 0) {
+			return -1;
+		}
+		int node = (int) heap[0];
+		long last = heap[--size];
+		// sift the last entry down from the root
+		int i = 0;
+		for (int child = 1; child < size; child = 2 * i + 1) {
+			if (child + 1 < size && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (last <= heap[child]) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = last;
+		return node;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+}
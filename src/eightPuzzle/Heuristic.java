@@ -0,0 +1,49 @@
+package eightPuzzle;
+
+// estimate of the number of moves left to solve a packed state
+// A* and IDA* only return optimal solutions when the estimate never exceeds the real number of moves
+// a heuristic may be shared between threads, so implementations must not keep per-call state
+public interface Heuristic {
+	int estimate(Board board, long state);
+
+	// return the estimate of the child reached by sliding the tile in 'from' into the blank in 'to',
+	// given the estimate 'h' of the parent 'state'
+	// heuristics that know how a single move changes their value should override this
+	default int update(Board board, int h, long state, int from, int to) {
+		return estimate(board, Puzzle.slide(state, to, from));
+	}
+
+	// return a heuristic by number or name, or the maximum of several joined by '+', e.g. "3+4":
+	// 1 or misplaced, 2 or manhattan, 3 or pdb, 4 or linear
+	static Heuristic of(String name) {
+		String[] names = name.split("\\+");
+		if (names.length > 1) {
+			Heuristic[] heuristics = new Heuristic[names.length];
+			for (int i = 0; i < names.length; i++) {
+				heuristics[i] = of(names[i]);
+			}
+			return max(heuristics);
+		}
+		switch (name.trim().toLowerCase()) {
+		case "1":
+		case "misplaced":
+			return new MisplacedTiles();
+		case "2":
+		case "manhattan":
+			return new Manhattan();
+		case "3":
+		case "pdb":
+			return PatternDatabase.DEFAULT;
+		case "4":
+		case "linear":
+			return new LinearConflict();
+		default:
+			throw new IllegalArgumentException("Unknown heuristic " + name);
+		}
+	}
+
+	// return a heuristic taking the largest estimate of several admissible heuristics, which is still admissible
+	static Heuristic max(Heuristic... heuristics) {
+		return new MaxHeuristic(heuristics);
+	}
+}
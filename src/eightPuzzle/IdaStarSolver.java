@@ -0,0 +1,117 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// iterative deepening A* on a single packed state that is changed in place
+// moves are applied and undone on the way down and up the recursion, the heuristic is updated per move
+// and the move that would undo the previous one is never tried, so memory is O(depth) and a solve
+// allocates nothing until the solution is rebuilt
+public class IdaStarSolver implements SearchEngine {
+	// returned by search() once the goal is reached
+	private static final int FOUND = -1;
+
+	private final Heuristic heuristic;
+	// board of the puzzle being solved
+	private Board board;
+	private long state;
+	private int blank;
+	// cell the blank moved to on each move of the current path
+	private int[] path = new int[64];
+	private int solutionLength;
+
+	private long nodesGenerated;
+	private long nodesExpanded;
+
+	public IdaStarSolver(Heuristic heuristic) {
+		this.heuristic = heuristic;
+	}
+
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+		board = puzzle.getBoard();
+		state = puzzle.getState();
+		blank = puzzle.getBlank();
+		// the tree below an unsolvable state has no goal and no end, so the bound would grow forever
+		if (!board.isSolvable(state)) {
+			return null;
+		}
+		int h = heuristic.estimate(board, state);
+
+		// raise the bound to the smallest f that went over it until the goal is found
+		int bound = h;
+		do {
+			bound = search(0, bound, h, -1);
+			if (bound == Integer.MAX_VALUE) {
+				return null;
+			}
+		} while (bound != FOUND);
+		return rebuild(puzzle);
+	}
+
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	// depth first search of the paths with f within bound
+	// return FOUND or the smallest f of the paths cut off by the bound
+	private int search(int g, int bound, int h, int previous) {
+		int f = g + h;
+		if (f > bound) {
+			return f;
+		}
+		if (h == 0 && state == board.getGoal()) {
+			solutionLength = g;
+			return FOUND;
+		}
+		nodesExpanded++;
+		if (g == path.length) {
+			path = Arrays.copyOf(path, g << 1);
+		}
+		int min = Integer.MAX_VALUE;
+		int to = blank;
+		for (int from : board.neighbours(to)) {
+			// sliding back the tile that just moved would undo the last move
+			if (from == previous) {
+				continue;
+			}
+			int childH = heuristic.update(board, h, state, from, to);
+			state = Puzzle.slide(state, to, from);
+			blank = from;
+			path[g] = from;
+			nodesGenerated++;
+
+			int t = search(g + 1, bound, childH, to);
+			if (t == FOUND) {
+				return FOUND;
+			}
+			if (t < min) {
+				min = t;
+			}
+
+			state = Puzzle.slide(state, from, to);
+			blank = to;
+		}
+		return min;
+	}
+
+	// replay the moves of the solution from the start to link the goal back to it
+	private Puzzle rebuild(Puzzle puzzle) {
+		long state = puzzle.getState();
+		Puzzle p = new Puzzle(board, state, 0, heuristic.estimate(board, state), null);
+		int empty = p.getBlank();
+		for (int g = 0; g < solutionLength; g++) {
+			state = Puzzle.slide(state, empty, path[g]);
+			empty = path[g];
+			p = new Puzzle(board, state, empty, g + 1, heuristic.estimate(board, state), p);
+		}
+		return p;
+	}
+}
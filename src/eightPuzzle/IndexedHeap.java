@@ -0,0 +1,98 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// binary heap of node indices by a long priority, lowest first, that can also remove or find any node
+// each node's position in the heap is kept so it can be removed in O(log n)
+class IndexedHeap {
+	public static final int NONE = -1;
+
+	private final int[] heap;
+	private final long[] priorities;
+	// position of each node in the heap, NONE when it is not in it
+	private final int[] positions;
+	private int size;
+
+	public IndexedHeap(int capacity) {
+		heap = new int[capacity];
+		priorities = new long[capacity];
+		positions = new int[capacity];
+		Arrays.fill(positions, NONE);
+	}
+
+	public boolean contains(int node) {
+		return positions[node] != NONE;
+	}
+
+	public void add(int node, long priority) {
+		priorities[node] = priority;
+		siftUp(size++, node);
+	}
+
+	public void remove(int node) {
+		int i = positions[node];
+		if (i == NONE) {
+			return;
+		}
+		positions[node] = NONE;
+		int last = heap[--size];
+		if (i == size) {
+			return;
+		}
+		// put the last node in the hole and move it whichever way it belongs
+		if (i > 0 && priorities[last] < priorities[heap[(i - 1) >>> 1]]) {
+			siftUp(i, last);
+		} else {
+			siftDown(i, last);
+		}
+	}
+
+	// node of lowest priority, NONE if empty
+	public int peek() {
+		return size == 0 ? NONE : heap[0];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[heap[i]] = NONE;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int i, int node) {
+		long priority = priorities[node];
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (priorities[heap[parent]] <= priority) {
+				break;
+			}
+			place(i, heap[parent]);
+			i = parent;
+		}
+		place(i, node);
+	}
+
+	private void siftDown(int i, int node) {
+		long priority = priorities[node];
+		for (int child = 2 * i + 1; child < size; child = 2 * i + 1) {
+			if (child + 1 < size && priorities[heap[child + 1]] < priorities[heap[child]]) {
+				child++;
+			}
+			if (priority <= priorities[heap[child]]) {
+				break;
+			}
+			place(i, heap[child]);
+			i = child;
+		}
+		place(i, node);
+	}
+
+	private void place(int i, int node) {
+		heap[i] = node;
+		positions[node] = i;
+	}
+}
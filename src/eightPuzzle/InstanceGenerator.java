@@ -0,0 +1,156 @@
+package eightPuzzle;
+
+import java.util.Random;
+
+// random solvable puzzles whose optimal solution has an exact number of moves
+// on the 8-puzzle every state at a depth is found in the distance table and drawn uniformly
+// on other boards a random walk of 'depth' moves from the goal is kept when its length is proven optimal,
+// either because the heuristic already equals it or because IDA* finds no shorter solution;
+// these instances are exact but favour states the walk reaches easily
+// a generator may be shared between threads, each call draws from the Random it is given
+public class InstanceGenerator {
+	// walks tried for one instance before giving up on a depth
+	private static final int MAX_WALKS = 1000;
+
+	private final Board board;
+	private final Heuristic heuristic;
+	// table indices of every state at each depth, 8-puzzle only
+	private final int[][] byDepth;
+
+	// generator of 8-puzzles indexing the states of a distance table by depth
+	public InstanceGenerator(DistanceTable table) {
+		board = DistanceTable.BOARD;
+		heuristic = null;
+		int[] counts = new int[64];
+		for (int index = 0; index < DistanceTable.STATES; index++) {
+			counts[table.distanceAt(index)]++;
+		}
+		byDepth = new int[counts.length][];
+		for (int depth = 0; depth < counts.length; depth++) {
+			byDepth[depth] = new int[counts[depth]];
+			counts[depth] = 0;
+		}
+		for (int index = 0; index < DistanceTable.STATES; index++) {
+			int depth = table.distanceAt(index);
+			byDepth[depth][counts[depth]++] = index;
+		}
+	}
+
+	// generator walking from the goal of a board, proving depths with a heuristic and IDA*
+	public InstanceGenerator(Board board, Heuristic heuristic) {
+		this.board = board;
+		this.heuristic = heuristic;
+		byDepth = null;
+	}
+
+	// generator for any board, using a newly built distance table for the 8-puzzle and pattern databases otherwise
+	public static InstanceGenerator of(Board board) {
+		return board == DistanceTable.BOARD ? new InstanceGenerator(DistanceTable.build())
+				: new InstanceGenerator(board, PatternDatabase.DEFAULT);
+	}
+
+	public Board getBoard() {
+		return board;
+	}
+
+	// return a puzzle solved in exactly 'depth' moves at best
+	public Puzzle atDepth(int depth, Random random) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("Depth must be at least 1");
+		}
+		if (byDepth != null) {
+			if (depth >= byDepth.length || byDepth[depth].length == 0) {
+				throw new IllegalArgumentException("No " + board + " puzzle is " + depth + " moves from the goal");
+			}
+			int[] indices = byDepth[depth];
+			return new Puzzle(board, DistanceTable.unrank(indices[random.nextInt(indices.length)]), 0, 0, null);
+		}
+		IdaStarSolver solver = null;
+		for (int walk = 0; walk < MAX_WALKS; walk++) {
+			Puzzle p = walk(depth, random);
+			if (p.getH() == depth) {
+				return p;
+			}
+			if (solver == null) {
+				solver = new IdaStarSolver(heuristic);
+			}
+			if (solver.solve(p).getDepth() == depth) {
+				return p;
+			}
+		}
+		throw new IllegalStateException("No " + board + " puzzle found " + depth + " moves from the goal");
+	}
+
+	// return count puzzles at a depth
+	public Puzzle[] atDepth(int depth, int count, Random random) {
+		Puzzle[] puzzles = new Puzzle[count];
+		for (int i = 0; i < count; i++) {
+			puzzles[i] = atDepth(depth, random);
+		}
+		return puzzles;
+	}
+
+	// return counts[d] puzzles at each depth d, shallowest first
+	public Puzzle[] withDepths(int[] counts, Random random) {
+		int total = 0;
+		for (int count : counts) {
+			total += count;
+		}
+		Puzzle[] puzzles = new Puzzle[total];
+		int i = 0;
+		for (int depth = 0; depth < counts.length; depth++) {
+			for (int k = 0; k < counts[depth]; k++) {
+				puzzles[i++] = atDepth(depth, random);
+			}
+		}
+		return puzzles;
+	}
+
+	// return counts spreading 'total' puzzles as evenly as possible over the depths from 'min' to 'max',
+	// any remainder going to the deepest
+	public static int[] spread(int total, int min, int max) {
+		int[] counts = new int[max + 1];
+		int depths = max - min + 1;
+		for (int depth = min; depth <= max; depth++) {
+			counts[depth] = total / depths + (max - depth < total % depths ? 1 : 0);
+		}
+		return counts;
+	}
+
+	// random walk of 'depth' moves from the goal that never undoes its last move and, when it can,
+	// moves a tile away from its goal so the heuristic keeps up with the length of the walk
+	// returns the end of the walk carrying its heuristic value
+	private Puzzle walk(int depth, Random random) {
+		long state = board.getGoal();
+		int blank = 0;
+		int previous = -1;
+		int h = heuristic.estimate(board, state);
+		for (int step = 0; step < depth; step++) {
+			// reservoir sample a move, restarting the sample when the first move raising h is seen
+			int chosen = -1;
+			int chosenH = 0;
+			int seen = 0;
+			boolean raising = false;
+			for (int from : board.neighbours(blank)) {
+				if (from == previous) {
+					continue;
+				}
+				int next = heuristic.update(board, h, state, from, blank);
+				boolean raises = next > h;
+				if (raises && !raising) {
+					raising = true;
+					seen = 0;
+				}
+				if (raises == raising && random.nextInt(++seen) == 0) {
+					chosen = from;
+					chosenH = next;
+				}
+			}
+			state = Puzzle.slide(state, blank, chosen);
+			previous = blank;
+			blank = chosen;
+			h = chosenH;
+		}
+		return new Puzzle(board, state, blank, 0, h, null);
+	}
+}
@@ -0,0 +1,60 @@
+package eightPuzzle;
+
+// Manhattan distance plus 2 moves for every tile that has to leave its goal row or column to let
+// another tile of that line pass, found as the tiles outside the longest run already in goal order
+public class LinearConflict extends Manhattan {
+	@Override
+	public int estimate(Board board, long state) {
+		int h = super.estimate(board, state);
+		for (int line = 0; line < board.getWidth(); line++) {
+			h += conflicts(board, state, line, true) + conflicts(board, state, line, false);
+		}
+		return h;
+	}
+
+	// a horizontal move keeps the order of its row and only changes the columns it moves between,
+	// a vertical move likewise only changes two rows
+	@Override
+	public int update(Board board, int h, long state, int from, int to) {
+		int width = board.getWidth();
+		long child = Puzzle.slide(state, to, from);
+		boolean rows = from / width != to / width;
+		int a = rows ? from / width : from % width;
+		int b = rows ? to / width : to % width;
+		return super.update(board, h, state, from, to) - conflicts(board, state, a, rows)
+				- conflicts(board, state, b, rows) + conflicts(board, child, a, rows) + conflicts(board, child, b, rows);
+	}
+
+	// extra moves needed by the tiles of a row or column that are in their goal line but out of order
+	private static int conflicts(Board board, long state, int line, boolean row) {
+		int width = board.getWidth();
+		// goal position along the line and longest increasing run ending there, 4 bits per tile in line order
+		int goals = 0;
+		int lengths = 0;
+		int count = 0;
+		int longest = 0;
+		for (int i = 0; i < width; i++) {
+			int tile = Puzzle.tileAt(state, row ? line * width + i : i * width + line);
+			if (tile == 0 || (row ? tile / width : tile % width) != line) {
+				continue;
+			}
+			int goal = row ? tile % width : tile / width;
+			int length = 1;
+			for (int j = 0; j < count; j++) {
+				if (((goals >>> (j << 2)) & 0xF) < goal) {
+					length = Math.max(length, ((lengths >>> (j << 2)) & 0xF) + 1);
+				}
+			}
+			goals |= goal << (count << 2);
+			lengths |= length << (count << 2);
+			count++;
+			longest = Math.max(longest, length);
+		}
+		return 2 * (count - longest);
+	}
+
+	@Override
+	public String toString() {
+		return "LinearConflict";
+	}
+}
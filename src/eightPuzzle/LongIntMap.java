@@ -0,0 +1,98 @@
+package eightPuzzle;
+
+// open addressing hash map from primitive longs to ints using linear probing
+// the key 0 marks an empty slot, no packed puzzle state is ever 0 because its tiles are distinct
+// the slots taken are listed in insertion order, so clear() only empties those and a solver clearing a large
+// map after a short search does not pay for the whole table
+class LongIntMap {
+	private static final float LOAD_FACTOR = 0.5f;
+
+	// returned by get() for a missing key
+	public static final int MISSING = -1;
+
+	private long[] keys;
+	private int[] values;
+	// slot of each key, in the order the keys were added
+	private int[] used;
+	private int mask;
+	private int size;
+	private int resizeAt;
+
+	public LongIntMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		allocate(capacity);
+	}
+
+	// return the value of key, or MISSING if it is not in the map
+	public int get(long key) {
+		int slot = hash(key) & mask;
+		while (keys[slot] != 0) {
+			if (keys[slot] == key) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return MISSING;
+	}
+
+	// set the value of key, adding it if needed
+	public void put(long key, int value) {
+		int slot = hash(key) & mask;
+		while (keys[slot] != 0) {
+			if (keys[slot] == key) {
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		used[size] = slot;
+		if (++size >= resizeAt) {
+			rehash();
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			keys[used[i]] = 0;
+		}
+		size = 0;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+		used = new int[resizeAt];
+	}
+
+	// double the table and re-insert every entry
+	private void rehash() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		int[] oldUsed = used;
+		allocate(oldKeys.length << 1);
+		for (int i = 0; i < size; i++) {
+			long key = oldKeys[oldUsed[i]];
+			int slot = hash(key) & mask;
+			while (keys[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			values[slot] = oldValues[oldUsed[i]];
+			used[i] = slot;
+		}
+	}
+
+	// spread the nibbles of a packed state over the high bits before folding into an int
+	static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,29 @@
+package eightPuzzle;
+
+// sum of the distance of each tile from its goal cell in row and column moves, the blank does not count
+public class Manhattan implements Heuristic {
+	@Override
+	public int estimate(Board board, long state) {
+		int h2 = 0;
+		for (int i = 0; i < board.getSize(); i++) {
+			int tile = Puzzle.tileAt(state, i);
+			if (tile != 0) {
+				// column and row moves
+				h2 += board.distance(tile, i);
+			}
+		}
+		return h2;
+	}
+
+	// moving one tile changes the estimate by exactly 1
+	@Override
+	public int update(Board board, int h, long state, int from, int to) {
+		int tile = Puzzle.tileAt(state, from);
+		return h + board.distance(tile, to) - board.distance(tile, from);
+	}
+
+	@Override
+	public String toString() {
+		return "Manhattan";
+	}
+}
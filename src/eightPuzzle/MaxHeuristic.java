@@ -0,0 +1,33 @@
+package eightPuzzle;
+
+// largest estimate of several heuristics
+// the maximum of a child cannot be derived from the maximum of its parent, so every move evaluates
+// each heuristic in full
+class MaxHeuristic implements Heuristic {
+	private final Heuristic[] heuristics;
+
+	MaxHeuristic(Heuristic[] heuristics) {
+		if (heuristics.length == 0) {
+			throw new IllegalArgumentException("Maximum of no heuristics");
+		}
+		this.heuristics = heuristics.clone();
+	}
+
+	@Override
+	public int estimate(Board board, long state) {
+		int max = 0;
+		for (Heuristic heuristic : heuristics) {
+			max = Math.max(max, heuristic.estimate(board, state));
+		}
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("Max(");
+		for (int i = 0; i < heuristics.length; i++) {
+			sb.append(i == 0 ? "" : "+").append(heuristics[i]);
+		}
+		return sb.append(')').toString();
+	}
+}
@@ -0,0 +1,27 @@
+package eightPuzzle;
+
+// number of tiles that are not in their goal cell, the blank does not count
+public class MisplacedTiles implements Heuristic {
+	@Override
+	public int estimate(Board board, long state) {
+		int h1 = 0;
+		for (int i = 0; i < board.getSize(); i++) {
+			int tile = Puzzle.tileAt(state, i);
+			if (tile != 0 && tile != i)
+				h1++;
+		}
+		return h1;
+	}
+
+	// moving one tile changes the estimate by at most 1
+	@Override
+	public int update(Board board, int h, long state, int from, int to) {
+		int tile = Puzzle.tileAt(state, from);
+		return h + (tile != to ? 1 : 0) - (tile != from ? 1 : 0);
+	}
+
+	@Override
+	public String toString() {
+		return "Misplaced";
+	}
+}
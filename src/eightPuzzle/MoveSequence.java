@@ -0,0 +1,188 @@
+package eightPuzzle;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// solution stored as its start state and the moves of the blank, 2 bits per move
+// boards along the path are not kept, they are replayed from the start only when rendered
+// binary form of a solution: board width as a byte, the packed start state as a long, the number of moves
+// as an unsigned short, then the moves 4 to a byte, first move in the lowest bits; a width of 0 is a record
+// with no solution, so a file of records can keep one per input line
+// a 30 move 8-puzzle solution takes 19 bytes
+public final class MoveSequence {
+	// moves of the blank
+	public static final int UP = 0;
+	public static final int DOWN = 1;
+	public static final int LEFT = 2;
+	public static final int RIGHT = 3;
+	// first int of a file of move sequences, "MSQ1"
+	public static final int MAGIC = 0x4D535131;
+
+	private static final char[] NAMES = { 'U', 'D', 'L', 'R' };
+
+	private final Board board;
+	private final long start;
+	private final int length;
+	private final byte[] moves;
+
+	private MoveSequence(Board board, long start, int length, byte[] moves) {
+		this.board = board;
+		this.start = start;
+		this.length = length;
+		this.moves = moves;
+	}
+
+	// moves of a goal puzzle linked back to its start, read once from the goal up without building the path
+	public static MoveSequence of(Puzzle solution) {
+		int length = 0;
+		for (Puzzle p = solution; p.getParent() != null; p = p.getParent()) {
+			length++;
+		}
+		byte[] moves = new byte[(length + 3) >> 2];
+		int width = solution.getBoard().getWidth();
+		Puzzle p = solution;
+		for (int i = length - 1; i >= 0; i--) {
+			int step = p.getBlank() - p.getParent().getBlank();
+			int move = step == -width ? UP : step == width ? DOWN : step == -1 ? LEFT : RIGHT;
+			moves[i >> 2] |= move << ((i & 3) << 1);
+			p = p.getParent();
+		}
+		return new MoveSequence(solution.getBoard(), p.getState(), length, moves);
+	}
+
+	public Board getBoard() {
+		return board;
+	}
+
+	public long getStart() {
+		return start;
+	}
+
+	// number of moves
+	public int length() {
+		return length;
+	}
+
+	// move i as UP, DOWN, LEFT or RIGHT
+	public int moveAt(int i) {
+		if (i < 0 || i >= length) {
+			throw new IndexOutOfBoundsException("Move " + i + " of " + length);
+		}
+		return (moves[i >> 2] >>> ((i & 3) << 1)) & 3;
+	}
+
+	// state after the first 'count' moves
+	public long stateAfter(int count) {
+		long state = start;
+		int blank = board.blankCell(state);
+		for (int i = 0; i < count; i++) {
+			int cell = blank + offset(moveAt(i));
+			state = Puzzle.slide(state, blank, cell);
+			blank = cell;
+		}
+		return state;
+	}
+
+	// goal puzzle linked back to the start, for code that walks a solution through its parents
+	public Puzzle toPuzzle() {
+		long state = start;
+		int blank = board.blankCell(state);
+		Puzzle p = new Puzzle(board, state, blank, 0, 0, null);
+		for (int i = 0; i < length; i++) {
+			int cell = blank + offset(moveAt(i));
+			state = Puzzle.slide(state, blank, cell);
+			blank = cell;
+			p = new Puzzle(board, state, blank, i + 1, 0, p);
+		}
+		return p;
+	}
+
+	// every board of the path as "Depth<d>-[tiles] -> ", starting a new line every 4 moves
+	public String render() {
+		StringBuilder s = new StringBuilder(length * (board.getSize() + 14) + 16);
+		long state = start;
+		int blank = board.blankCell(state);
+		for (int i = 0; ; i++) {
+			if (i % 4 == 0) {
+				s.append('\n');
+			}
+			s.append("Depth").append(i).append('-');
+			Puzzle.appendTiles(s, board, state);
+			s.append(" -> ");
+			if (i == length) {
+				return s.toString();
+			}
+			int cell = blank + offset(moveAt(i));
+			state = Puzzle.slide(state, blank, cell);
+			blank = cell;
+		}
+	}
+
+	// moves as letters U, D, L and R
+	@Override
+	public String toString() {
+		char[] letters = new char[length];
+		for (int i = 0; i < length; i++) {
+			letters[i] = NAMES[moveAt(i)];
+		}
+		return new String(letters);
+	}
+
+	// start a file of records
+	public static void writeHeader(DataOutput out) throws IOException {
+		out.writeInt(MAGIC);
+	}
+
+	// check the start of a file of records
+	public static void readHeader(DataInput in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a move sequence file");
+		}
+	}
+
+	// write the record of a solution, or a record with no solution if it is null
+	public static void write(DataOutput out, MoveSequence sequence) throws IOException {
+		if (sequence == null) {
+			out.writeByte(0);
+			return;
+		}
+		out.writeByte(sequence.board.getWidth());
+		out.writeLong(sequence.start);
+		out.writeShort(sequence.length);
+		out.write(sequence.moves);
+	}
+
+	// read the next record, null if it has no solution, EOFException at the end of the input
+	public static MoveSequence read(DataInput in) throws IOException {
+		int width = in.readUnsignedByte();
+		if (width == 0) {
+			return null;
+		}
+		Board board;
+		try {
+			board = Board.of(width);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Bad move sequence record", e);
+		}
+		long start = in.readLong();
+		int length = in.readUnsignedShort();
+		byte[] moves = new byte[(length + 3) >> 2];
+		in.readFully(moves);
+		return new MoveSequence(board, start, length, moves);
+	}
+
+	// change of the blank cell for a move
+	private int offset(int move) {
+		switch (move) {
+			case UP:
+				return -board.getWidth();
+			case DOWN:
+				return board.getWidth();
+			case LEFT:
+				return -1;
+			default:
+				return 1;
+		}
+	}
+}
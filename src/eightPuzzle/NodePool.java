@@ -0,0 +1,100 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// search nodes stored as parallel primitive arrays and referred to by index
+// a node costs 19 bytes: its packed state, g, h, the index of its parent and the cell its move left
+// the blank in, against a Puzzle object and its header per node
+// reset() forgets every node but keeps the arrays, so one pool serves every solve of a solver
+class NodePool {
+	// parent of a root node
+	public static final int NONE = -1;
+
+	private long[] states;
+	private int[] g;
+	private short[] h;
+	private int[] parents;
+	private byte[] blanks;
+	private int size;
+
+	public NodePool(int capacity) {
+		states = new long[capacity];
+		g = new int[capacity];
+		h = new short[capacity];
+		parents = new int[capacity];
+		blanks = new byte[capacity];
+	}
+
+	// store a node and return its index
+	public int add(long state, int blank, int g, int h, int parent) {
+		if (size == states.length) {
+			grow();
+		}
+		states[size] = state;
+		this.g[size] = g;
+		this.h[size] = (short) h;
+		parents[size] = parent;
+		blanks[size] = (byte) blank;
+		return size++;
+	}
+
+	public long state(int node) {
+		return states[node];
+	}
+
+	public int g(int node) {
+		return g[node];
+	}
+
+	public int h(int node) {
+		return h[node];
+	}
+
+	public int f(int node) {
+		return g[node] + h[node];
+	}
+
+	public int parent(int node) {
+		return parents[node];
+	}
+
+	// cell of the blank, which is also the cell the tile moved out of to reach this node
+	public int blank(int node) {
+		return blanks[node];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void reset() {
+		size = 0;
+	}
+
+	// rebuild the path from its root to 'node' as puzzles linked through their parents
+	// return the puzzle of 'node'
+	public Puzzle toPuzzle(Board board, int node) {
+		int length = 0;
+		for (int n = node; n != NONE; n = parents[n]) {
+			length++;
+		}
+		int[] path = new int[length];
+		for (int n = node; n != NONE; n = parents[n]) {
+			path[--length] = n;
+		}
+		Puzzle p = null;
+		for (int n : path) {
+			p = new Puzzle(board, states[n], blanks[n], g[n], h[n], p);
+		}
+		return p;
+	}
+
+	private void grow() {
+		int capacity = Math.max(16, states.length << 1);
+		states = Arrays.copyOf(states, capacity);
+		g = Arrays.copyOf(g, capacity);
+		h = Arrays.copyOf(h, capacity);
+		parents = Arrays.copyOf(parents, capacity);
+		blanks = Arrays.copyOf(blanks, capacity);
+	}
+}
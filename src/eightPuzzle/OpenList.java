@@ -0,0 +1,16 @@
+package eightPuzzle;
+
+// frontier of nodes waiting to be expanded, ordered by lowest f value first
+// nodes are indices into the NodePool of the search, so the list holds no object references
+public interface OpenList {
+	void add(int node, int f, int g);
+
+	// remove and return the next node to expand, -1 if empty
+	int poll();
+
+	int size();
+
+	boolean isEmpty();
+
+	void clear();
+}
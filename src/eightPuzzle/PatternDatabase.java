@@ -0,0 +1,427 @@
+package eightPuzzle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// additive heuristic from disjoint pattern databases
+// each pattern is a set of tiles, its table holds the fewest moves of those tiles needed to bring them home
+// from any placement, ignoring the other tiles, so the values of disjoint patterns can be added
+// tables are stored 4 bits per entry when every value fits, 8 bits otherwise
+public class PatternDatabase implements Heuristic {
+	// "PDB1" at the start of every database file
+	private static final int MAGIC = 0x50444231;
+
+	// default partitions, 4-4 for the 8-puzzle and 6-6-3 for the 15-puzzle
+	private static final int[][][] DEFAULT_PATTERNS = {
+			null,
+			null,
+			{ { 1, 2, 3 } },
+			{ { 1, 2, 4, 5 }, { 3, 6, 7, 8 } },
+			{ { 1, 4, 5, 8, 9, 12 }, { 2, 3, 6, 7, 10, 11 }, { 13, 14, 15 } } };
+
+	// databases used by the solvers, loaded or built on first use
+	private static final AtomicReferenceArray<PatternDatabase> DATABASES = new AtomicReferenceArray<>(
+			Board.MAX_WIDTH + 1);
+
+	// heuristic using the database of whichever board it is given, see forBoard()
+	public static final Heuristic DEFAULT = new Heuristic() {
+		@Override
+		public int estimate(Board board, long state) {
+			return forBoard(board).estimate(state);
+		}
+
+		@Override
+		public int update(Board board, int h, long state, int from, int to) {
+			return forBoard(board).update(board, h, state, from, to);
+		}
+
+		@Override
+		public String toString() {
+			return "PatternDatabase";
+		}
+	};
+
+	private final Board board;
+	private final int[][] patterns;
+	// pattern of each tile, -1 for the blank
+	private final int[] patternOf;
+	// bits per entry of each table, 4 or 8
+	private final int[] bits;
+	private final ByteBuffer[] tables;
+
+	private PatternDatabase(Board board, int[][] patterns, int[] bits, ByteBuffer[] tables) {
+		this.board = board;
+		this.patterns = patterns;
+		this.bits = bits;
+		this.tables = tables;
+		patternOf = new int[board.getSize()];
+		Arrays.fill(patternOf, -1);
+		for (int p = 0; p < patterns.length; p++) {
+			for (int tile : patterns[p]) {
+				patternOf[tile] = p;
+			}
+		}
+	}
+
+	// return the database of a board, mapped from its default file or built in memory if there is none
+	public static PatternDatabase forBoard(Board board) {
+		PatternDatabase pdb = DATABASES.get(board.getWidth());
+		if (pdb == null) {
+			synchronized (DATABASES) {
+				pdb = DATABASES.get(board.getWidth());
+				if (pdb == null) {
+					Path path = defaultPath(board);
+					try {
+						pdb = Files.exists(path) ? load(path) : build(board);
+					} catch (IOException ioe) {
+						throw new IllegalStateException("Could not load pattern database " + path, ioe);
+					}
+					DATABASES.set(board.getWidth(), pdb);
+				}
+			}
+		}
+		return pdb;
+	}
+
+	// file the database of a board is written to and loaded from
+	public static Path defaultPath(Board board) {
+		return Paths.get("output", "pdb" + board.getWidth() + ".bin");
+	}
+
+	// build the database of a board from its default partition
+	public static PatternDatabase build(Board board) {
+		return build(board, DEFAULT_PATTERNS[board.getWidth()]);
+	}
+
+	// build a database from disjoint sets of tiles, the blank may not be part of a pattern
+	public static PatternDatabase build(Board board, int[][] patterns) {
+		boolean[] used = new boolean[board.getSize()];
+		for (int[] pattern : patterns) {
+			for (int tile : pattern) {
+				if (tile <= 0 || tile >= board.getSize() || used[tile]) {
+					throw new IllegalArgumentException("Patterns must be disjoint sets of tiles 1 to "
+							+ (board.getSize() - 1));
+				}
+				used[tile] = true;
+			}
+		}
+		int[] bits = new int[patterns.length];
+		ByteBuffer[] tables = new ByteBuffer[patterns.length];
+		for (int p = 0; p < patterns.length; p++) {
+			byte[] values = buildPattern(board, patterns[p]);
+			int max = 0;
+			for (byte value : values) {
+				max = Math.max(max, value & 0xFF);
+			}
+			bits[p] = max < 16 ? 4 : 8;
+			tables[p] = ByteBuffer.wrap(pack(values, bits[p]));
+		}
+		return new PatternDatabase(board, patterns.clone(), bits, tables);
+	}
+
+	// memory map a database written by write()
+	public static PatternDatabase load(Path path) throws IOException {
+		ByteBuffer file;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (file.getInt() != MAGIC) {
+			throw new IOException(path + " is not a pattern database");
+		}
+		Board board = Board.of(file.getInt());
+		int[][] patterns = new int[file.getInt()][];
+		int[] bits = new int[patterns.length];
+		int[] entries = new int[patterns.length];
+		for (int p = 0; p < patterns.length; p++) {
+			patterns[p] = new int[file.getInt()];
+			for (int i = 0; i < patterns[p].length; i++) {
+				patterns[p][i] = file.getInt();
+			}
+			bits[p] = file.getInt();
+			entries[p] = file.getInt();
+		}
+		ByteBuffer[] tables = new ByteBuffer[patterns.length];
+		for (int p = 0; p < patterns.length; p++) {
+			int length = tableLength(entries[p], bits[p]);
+			if (file.remaining() < length) {
+				throw new IOException(path + " is truncated");
+			}
+			ByteBuffer table = file.duplicate();
+			table.limit(file.position() + length);
+			tables[p] = table.slice();
+			file.position(file.position() + length);
+		}
+		return new PatternDatabase(board, patterns, bits, tables);
+	}
+
+	public void write(Path path) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		int headerInts = 3;
+		for (int[] pattern : patterns) {
+			headerInts += 3 + pattern.length;
+		}
+		ByteBuffer header = ByteBuffer.allocate(headerInts * 4);
+		header.putInt(MAGIC).putInt(board.getWidth()).putInt(patterns.length);
+		for (int p = 0; p < patterns.length; p++) {
+			header.putInt(patterns[p].length);
+			for (int tile : patterns[p]) {
+				header.putInt(tile);
+			}
+			header.putInt(bits[p]).putInt(entries(board.getSize(), patterns[p].length));
+		}
+		header.flip();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			for (ByteBuffer table : tables) {
+				ByteBuffer data = table.duplicate();
+				data.clear();
+				while (data.hasRemaining()) {
+					channel.write(data);
+				}
+			}
+		}
+	}
+
+	public Board getBoard() {
+		return board;
+	}
+
+	@Override
+	public String toString() {
+		return "PatternDatabase";
+	}
+
+	@Override
+	public int estimate(Board board, long state) {
+		checkBoard(board);
+		return estimate(state);
+	}
+
+	@Override
+	public int update(Board board, int h, long state, int from, int to) {
+		checkBoard(board);
+		return update(h, state, Puzzle.slide(state, to, from), Puzzle.tileAt(state, from));
+	}
+
+	private void checkBoard(Board board) {
+		if (board != this.board) {
+			throw new IllegalArgumentException("Pattern database of " + this.board + " puzzles used on " + board);
+		}
+	}
+
+	// return the sum of the pattern values of a packed state
+	public int estimate(long state) {
+		long cells = cellsOfTiles(state);
+		int h = 0;
+		for (int p = 0; p < patterns.length; p++) {
+			h += value(p, cells);
+		}
+		return h;
+	}
+
+	// return the estimate of 'child' from the estimate of its parent after 'tile' moved
+	// only the pattern holding the tile can change
+	public int update(int h, long parent, long child, int tile) {
+		int p = patternOf[tile];
+		if (p < 0) {
+			return h;
+		}
+		return h - value(p, cellsOfTiles(parent)) + value(p, cellsOfTiles(child));
+	}
+
+	// value of pattern p, given the cell of every tile packed 4 bits per tile
+	private int value(int p, long cells) {
+		int[] pattern = patterns[p];
+		int index = 0;
+		int used = 0;
+		for (int i = 0; i < pattern.length; i++) {
+			int cell = (int) (cells >>> (pattern[i] << 2)) & 0xF;
+			index = index * (board.getSize() - i) + cell - Integer.bitCount(used & ((1 << cell) - 1));
+			used |= 1 << cell;
+		}
+		ByteBuffer table = tables[p];
+		if (bits[p] == 8) {
+			return table.get(index) & 0xFF;
+		}
+		int b = table.get(index >>> 1);
+		return ((index & 1) == 0 ? b : b >>> 4) & 0xF;
+	}
+
+	// invert a packed state into the cell of each tile, 4 bits per tile
+	private long cellsOfTiles(long state) {
+		long cells = 0;
+		for (int cell = 0; cell < board.getSize(); cell++) {
+			cells |= (long) cell << (Puzzle.tileAt(state, cell) << 2);
+		}
+		return cells;
+	}
+
+	// number of placements of k distinct tiles on n cells
+	private static int entries(int n, int k) {
+		long entries = 1;
+		for (int i = 0; i < k; i++) {
+			entries *= n - i;
+		}
+		return (int) entries;
+	}
+
+	private static int tableLength(int entries, int bits) {
+		return bits == 8 ? entries : (entries + 1) >>> 1;
+	}
+
+	private static byte[] pack(byte[] values, int bits) {
+		if (bits == 8) {
+			return values;
+		}
+		byte[] packed = new byte[tableLength(values.length, 4)];
+		for (int i = 0; i < values.length; i++) {
+			packed[i >>> 1] |= (values[i] & 0xF) << ((i & 1) << 2);
+		}
+		return packed;
+	}
+
+	// breadth first search backwards from the goal over placements of the pattern tiles and the blank
+	// moving a pattern tile costs 1 and moving any other tile costs 0, so each cost layer is closed over
+	// its zero cost moves before the next layer starts
+	// returns the cost of each placement of the pattern tiles, the cheapest over every blank cell
+	private static byte[] buildPattern(Board board, int[] pattern) {
+		int n = board.getSize();
+		int k = pattern.length;
+		int placements = entries(n, k);
+		if ((long) placements * n > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Pattern of " + k + " tiles is too large to build");
+		}
+		byte[] cost = new byte[placements * n];
+		Arrays.fill(cost, (byte) -1);
+
+		int[] goal = Arrays.copyOf(pattern, k);
+		int start = rank(goal, n) * n;
+		cost[start] = 0;
+		IntStack current = new IntStack();
+		IntStack next = new IntStack();
+		current.push(start);
+
+		int[] cells = new int[k];
+		for (int layer = 0; !current.isEmpty(); layer++) {
+			while (!current.isEmpty()) {
+				int abstractState = current.pop();
+				if (cost[abstractState] != layer) {
+					// reached more cheaply after it was queued
+					continue;
+				}
+				int blank = abstractState % n;
+				unrank(abstractState / n, n, cells);
+				for (int cell : board.neighbours(blank)) {
+					int moved = indexOf(cells, cell);
+					if (moved < 0) {
+						// another tile slides into the blank for free
+						int child = abstractState - blank + cell;
+						if (cost[child] == -1 || cost[child] > layer) {
+							cost[child] = (byte) layer;
+							current.push(child);
+						}
+					} else {
+						cells[moved] = blank;
+						int child = rank(cells, n) * n + cell;
+						cells[moved] = cell;
+						if (cost[child] == -1) {
+							cost[child] = (byte) (layer + 1);
+							next.push(child);
+						}
+					}
+				}
+			}
+			IntStack swap = current;
+			current = next;
+			next = swap;
+		}
+
+		byte[] values = new byte[placements];
+		for (int placement = 0; placement < placements; placement++) {
+			int min = Integer.MAX_VALUE;
+			for (int blank = 0; blank < n; blank++) {
+				int c = cost[placement * n + blank];
+				if (c >= 0 && c < min) {
+					min = c;
+				}
+			}
+			values[placement] = (byte) min;
+		}
+		return values;
+	}
+
+	// rank of distinct cells in mixed radix n, n-1, ..., each digit counting the free cells below it
+	private static int rank(int[] cells, int n) {
+		int index = 0;
+		int used = 0;
+		for (int i = 0; i < cells.length; i++) {
+			index = index * (n - i) + cells[i] - Integer.bitCount(used & ((1 << cells[i]) - 1));
+			used |= 1 << cells[i];
+		}
+		return index;
+	}
+
+	private static void unrank(int index, int n, int[] cells) {
+		int k = cells.length;
+		int[] digits = new int[k];
+		for (int i = k - 1; i >= 0; i--) {
+			digits[i] = index % (n - i);
+			index /= n - i;
+		}
+		int used = 0;
+		for (int i = 0; i < k; i++) {
+			// the digits[i]-th free cell
+			int cell = -1;
+			for (int free = digits[i]; free >= 0; ) {
+				cell++;
+				if ((used & (1 << cell)) == 0) {
+					free--;
+				}
+			}
+			cells[i] = cell;
+			used |= 1 << cell;
+		}
+	}
+
+	private static int indexOf(int[] cells, int cell) {
+		for (int i = 0; i < cells.length; i++) {
+			if (cells[i] == cell) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	// growable stack of ints for the search frontier
+	private static class IntStack {
+		private int[] values = new int[1024];
+		private int size;
+
+		void push(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size << 1);
+			}
+			values[size++] = value;
+		}
+
+		int pop() {
+			return values[--size];
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package eightPuzzle;
+
+import java.util.Random;
+
+public class Puzzle {
+	// size and geometry of the board
+	private Board board;
+	// tiles packed 4 bits per cell, cell i stored at bits 4i to 4i+3
+	private long state;
+	// cell holding the blank tile
+	private int blank;
+	// cost so far (g), estimated cost to goal (h) and their sum (f), fixed when the puzzle is created
+	private int depth;
+	private int h;
+	private int f;
+	private Puzzle parent;
+	
+	// copy constructor
+	public Puzzle(Puzzle p) {
+		board = p.getBoard();
+		state = p.getState();
+		blank = p.getBlank();
+		depth = p.getDepth();
+		h = p.getH();
+		f = p.getF();
+		parent = p.getParent();
+	}
+	
+	// constructor of a puzzle from a tile set and depth, the board size follows from the number of tiles
+	public Puzzle(int[] t, int d) {
+		this(Board.ofSize(t.length), pack(t), d, 0, null);
+	}
+	
+	// constructor of a search node from a packed state, its depth, heuristic and parent
+	public Puzzle(Board board, long s, int d, int h, Puzzle parent) {
+		this(board, s, board.blankCell(s), d, h, parent);
+	}
+	
+	// constructor of a search node whose blank cell is already known
+	public Puzzle(Board board, long s, int blank, int d, int h, Puzzle parent) {
+		this.board = board;
+		state = s;
+		this.blank = blank;
+		depth = d;
+		this.h = h;
+		f = d + h;
+		this.parent = parent;
+	}
+	
+	// return a uniformly random solvable puzzle that is not already solved
+	// a Fisher-Yates shuffle of the goal draws the digits of a uniform permutation index and tracks its
+	// parity; if that parity does not match the blank (see Board.isSolvable) two other tiles are swapped,
+	// which pairs every unsolvable permutation with exactly one solvable one and keeps the draw uniform
+	public static Puzzle createSolvable(Board board, Random r) {
+		long state;
+		int blank;
+		do {
+			state = board.getGoal();
+			int parity = 0;
+			for (int i = board.getSize() - 1; i > 0; i--) {
+				int j = r.nextInt(i + 1);
+				if (j != i) {
+					state = swap(state, i, j);
+					parity ^= 1;
+				}
+			}
+			blank = board.blankCell(state);
+			if (parity != (board.distance(0, blank) & 1)) {
+				state = blank < 2 ? swap(state, board.getSize() - 2, board.getSize() - 1) : swap(state, 0, 1);
+			}
+			// draw again in the rare case of the goal state
+		} while (state == board.getGoal());
+		return new Puzzle(board, state, blank, 0, 0, null);
+	}
+
+	// return the state with the tiles of two cells exchanged
+	private static long swap(long state, int a, int b) {
+		long diff = ((state >>> (a << 2)) ^ (state >>> (b << 2))) & 0xF;
+		return state ^ (diff << (a << 2)) ^ (diff << (b << 2));
+	}
+	
+	// parse a puzzle written as one digit per cell, with hexadecimal digits for tiles above 9 as in
+	// getTileString(), or as tile numbers separated by spaces or commas, e.g. 867254301 or 1 2 3 ... 15 0
+	// the board size follows from the number of tiles, which must be a permutation of 0 to size - 1
+	public static Puzzle parse(String line) {
+		String s = line.trim();
+		if (s.startsWith("[") && s.endsWith("]")) {
+			s = s.substring(1, s.length() - 1).trim();
+		}
+		String[] parts = s.split("[\\s,]+");
+		int[] tiles;
+		if (parts.length == 1) {
+			tiles = new int[s.length()];
+			for (int i = 0; i < tiles.length; i++) {
+				tiles[i] = Character.digit(s.charAt(i), 16);
+			}
+		} else {
+			tiles = new int[parts.length];
+			for (int i = 0; i < tiles.length; i++) {
+				tiles[i] = Integer.parseInt(parts[i]);
+			}
+		}
+		Board board = Board.ofSize(tiles.length);
+		boolean[] seen = new boolean[tiles.length];
+		for (int tile : tiles) {
+			if (tile < 0 || tile >= tiles.length || seen[tile]) {
+				throw new IllegalArgumentException("Tiles must be 0 to " + (tiles.length - 1) + " once each: " + line);
+			}
+			seen[tile] = true;
+		}
+		return new Puzzle(board, pack(tiles), 0, 0, null);
+	}
+
+	// pack an array of tiles into a long, 4 bits per cell
+	public static long pack(int[] tiles) {
+		long packed = 0;
+		for (int i = 0; i < tiles.length; i++) {
+			packed |= (long) tiles[i] << (i << 2);
+		}
+		return packed;
+	}
+	
+	// return the tile in a cell of a packed state
+	public static int tileAt(long state, int cell) {
+		return (int) (state >>> (cell << 2)) & 0xF;
+	}
+	
+	// return the state after the tile in 'cell' slides into the blank cell
+	public static long slide(long state, int blank, int cell) {
+		long tile = (state >>> (cell << 2)) & 0xF;
+		return (state & ~(0xFL << (cell << 2))) | (tile << (blank << 2));
+	}
+	
+	// return pointer to parent puzzle
+	public Puzzle getParent() {
+		return parent;
+	}
+	
+	// set parent puzzle (previous state of puzzle)
+	public void setParent(Puzzle parent) {
+		this.parent = parent;
+	}
+	
+	public Board getBoard() {
+		return board;
+	}
+	
+	// return the packed state of the puzzle
+	public long getState() {
+		return state;
+	}
+	
+	public int getBlank() {
+		return blank;
+	}
+	
+	// return a new array of the puzzle's tiles
+	public int[] getTiles() {
+		int[] tiles = new int[board.getSize()];
+		for (int i = 0; i < tiles.length; i++) {
+			tiles[i] = tileAt(state, i);
+		}
+		return tiles;
+	}
+	//return tiles as one digit per cell, using hexadecimal digits for tiles above 9
+	public String getTileString() {
+//		String s = "";
+//		for (int i = 0; i < tiles.length; i++) {
+//			switch(i){
+//				case 3:
+//				case 6:
+//					s += ("\n"+Integer.toString(tiles[i])+" ");
+//					break;
+//				default:
+//					s += Integer.toString(tiles[i])+" ";
+//					break;
+//			}
+//		}
+		
+		return appendTiles(new StringBuilder(board.getSize() + 2), board, state).toString();
+	}
+	
+	// append the tiles of a state as one digit per cell in brackets, the form of getTileString()
+	public static StringBuilder appendTiles(StringBuilder s, Board board, long state) {
+		s.append('[');
+		for (int i = 0; i < board.getSize(); i++) {
+			s.append(Character.forDigit(tileAt(state, i), 16));
+		}
+		return s.append(']');
+	}
+	
+	public int getDepth() {
+		return depth;
+	}
+	
+	public int getH() {
+		return h;
+	}
+	
+	public int getF() {
+		return f;
+	}
+
+	// return true if the goal can be reached from this puzzle
+	public boolean isSolvable() {
+		return board.isSolvable(state);
+	}
+
+	public boolean isGoalState() {
+		// every tile is in the correct spot only if the packed states match
+		return state == board.getGoal();
+	}
+}
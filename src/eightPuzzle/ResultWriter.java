@@ -0,0 +1,128 @@
+package eightPuzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// stream one row per solved puzzle to a file as CSV or newline delimited JSON
+// rows are encoded into a reused buffer, grown if a row does not fit, and handed to the channel before write()
+// returns, so memory stays flat and a crash of the JVM loses no row that was already written
+// write() may be called from several threads
+public class ResultWriter implements Closeable {
+	public enum Format {
+		CSV, NDJSON
+	}
+
+	// longest row apart from the heuristic name and the tiles: the JSON keys and punctuation, and four numbers
+	// of at most 20 characters each
+	private static final int ROW_OVERHEAD = 80 + 4 * 20;
+
+	private final FileChannel channel;
+	private final Format format;
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+
+	public ResultWriter(Path path, Format format) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.format = format;
+		if (format == Format.CSV) {
+			putAscii("Heuristic,Start,Depth,Nodes Generated,Nodes Expanded,Runtime (ns)\n");
+			flush();
+		}
+	}
+
+	// choose NDJSON for .ndjson and .json files, CSV otherwise
+	public static ResultWriter open(Path path) throws IOException {
+		String name = path.getFileName().toString();
+		return new ResultWriter(path, name.endsWith(".ndjson") || name.endsWith(".json") ? Format.NDJSON : Format.CSV);
+	}
+
+	public synchronized void write(Heuristic heuristic, Puzzle start, int depth, long generated, long expanded, long nanos)
+			throws IOException {
+		String name = heuristic.toString();
+		reserve(name.length() + start.getBoard().getSize() + ROW_OVERHEAD);
+		if (format == Format.CSV) {
+			putAscii(name);
+			buffer.put((byte) ',');
+			putTiles(start);
+			buffer.put((byte) ',');
+			putLong(depth);
+			buffer.put((byte) ',');
+			putLong(generated);
+			buffer.put((byte) ',');
+			putLong(expanded);
+			buffer.put((byte) ',');
+			putLong(nanos);
+		} else {
+			putAscii("{\"heuristic\":\"");
+			putAscii(name);
+			putAscii("\",\"start\":\"");
+			putTiles(start);
+			putAscii("\",\"depth\":");
+			putLong(depth);
+			putAscii(",\"generated\":");
+			putLong(generated);
+			putAscii(",\"expanded\":");
+			putLong(expanded);
+			putAscii(",\"runtime\":");
+			putLong(nanos);
+			buffer.put((byte) '}');
+		}
+		buffer.put((byte) '\n');
+		flush();
+	}
+
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+
+	// make sure a row of up to 'length' bytes fits the empty buffer, growing it if the row is longer
+	private void reserve(int length) {
+		if (buffer.capacity() < length) {
+			buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(length) << 1);
+		}
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	// tiles as digits, the same form as Puzzle.getTileString without brackets
+	private void putTiles(Puzzle puzzle) {
+		long state = puzzle.getState();
+		for (int i = 0; i < puzzle.getBoard().getSize(); i++) {
+			buffer.put((byte) Character.forDigit(Puzzle.tileAt(state, i), 16));
+		}
+	}
+
+	private void putLong(long value) {
+		if (value < 0) {
+			buffer.put((byte) '-');
+			value = -value;
+		}
+		long divisor = 1;
+		while (value / divisor >= 10) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			buffer.put((byte) ('0' + (value / divisor) % 10));
+		}
+	}
+
+	private void putAscii(String s) {
+		for (int i = 0; i < s.length(); i++) {
+			buffer.put((byte) s.charAt(i));
+		}
+	}
+}
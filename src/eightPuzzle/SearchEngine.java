@@ -0,0 +1,30 @@
+package eightPuzzle;
+
+// search algorithm that finds a path from a puzzle to the goal
+// an engine keeps per-solve state, so one instance must not be shared between threads
+public interface SearchEngine {
+	// return the goal puzzle linked to the start through its parents, or null if it cannot be solved
+	Puzzle solve(Puzzle puzzle);
+
+	// number of puzzle nodes generated by the last solve
+	long getNodesGenerated();
+
+	// number of puzzle nodes expanded by the last solve
+	long getNodesExpanded();
+
+	// children of the last solve dropped because their state was reached by a path as short, counted while
+	// SearchMetrics are enabled by the engines that keep an explored set
+	default long getDuplicates() {
+		return 0;
+	}
+
+	// most nodes in the open list at once during the last solve, counted like getDuplicates()
+	default int getPeakOpen() {
+		return 0;
+	}
+
+	// stats of the last solve, null unless the engine came from SearchMetrics.instrument()
+	default SearchStats getStats() {
+		return null;
+	}
+}
@@ -0,0 +1,227 @@
+package eightPuzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// counters and histograms over every instrumented solve in the JVM, readable directly or over JMX
+// instrumentation is switched on with -DeightPuzzle.metrics=true; ENABLED is a constant, so with it off the
+// counting in the solvers is compiled away and instrument() hands engines back unwrapped
+// counters are LongAdders, so threads solving at once do not contend on them
+public class SearchMetrics implements SearchMetricsMBean {
+	public static final boolean ENABLED = Boolean.getBoolean("eightPuzzle.metrics");
+	public static final String OBJECT_NAME = "eightPuzzle:type=SearchMetrics";
+
+	private static final SearchMetrics INSTANCE = new SearchMetrics();
+	private static final int TIME_BUCKETS = 32;
+	private static final int LENGTH_BUCKETS = 128;
+
+	private final LongAdder solves = new LongAdder();
+	private final LongAdder unsolved = new LongAdder();
+	private final LongAdder nodesGenerated = new LongAdder();
+	private final LongAdder nodesExpanded = new LongAdder();
+	private final LongAdder duplicates = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxPeakOpen = new LongAccumulator(Math::max, 0);
+	private final LongAdder[] solveTimes = newAdders(TIME_BUCKETS);
+	private final LongAdder[] solutionLengths = newAdders(LENGTH_BUCKETS);
+
+	private SearchMetrics() {
+	}
+
+	public static SearchMetrics get() {
+		return INSTANCE;
+	}
+
+	// wrap an engine so its solves are recorded, or return it as it is when metrics are disabled
+	public static SearchEngine instrument(SearchEngine engine) {
+		return ENABLED ? new Instrumented(engine) : engine;
+	}
+
+	// register the metrics with the platform MBean server under OBJECT_NAME, once per JVM
+	public static void register() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+		} catch (InstanceAlreadyExistsException e) {
+			// registered already
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+		}
+	}
+
+	public void record(SearchStats stats) {
+		solves.increment();
+		if (stats.isSolved()) {
+			solutionLengths[Math.min(stats.getSolutionLength(), LENGTH_BUCKETS - 1)].increment();
+		} else {
+			unsolved.increment();
+		}
+		nodesGenerated.add(stats.getNodesGenerated());
+		nodesExpanded.add(stats.getNodesExpanded());
+		duplicates.add(stats.getDuplicates());
+		totalNanos.add(stats.getNanos());
+		maxPeakOpen.accumulate(stats.getPeakOpen());
+		long micros = stats.getNanos() / 1000;
+		int bucket = micros == 0 ? 0 : 63 - Long.numberOfLeadingZeros(micros);
+		solveTimes[Math.min(bucket, TIME_BUCKETS - 1)].increment();
+	}
+
+	@Override
+	public long getSolves() {
+		return solves.sum();
+	}
+
+	@Override
+	public long getUnsolved() {
+		return unsolved.sum();
+	}
+
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated.sum();
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded.sum();
+	}
+
+	@Override
+	public long getDuplicates() {
+		return duplicates.sum();
+	}
+
+	@Override
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	@Override
+	public long getMaxPeakOpen() {
+		return maxPeakOpen.get();
+	}
+
+	@Override
+	public long[] getSolveTimeHistogram() {
+		return sums(solveTimes);
+	}
+
+	@Override
+	public long[] getSolutionLengthHistogram() {
+		return sums(solutionLengths);
+	}
+
+	// counts recorded while a reset runs may be lost
+	@Override
+	public void reset() {
+		solves.reset();
+		unsolved.reset();
+		nodesGenerated.reset();
+		nodesExpanded.reset();
+		duplicates.reset();
+		totalNanos.reset();
+		maxPeakOpen.reset();
+		for (LongAdder adder : solveTimes) {
+			adder.reset();
+		}
+		for (LongAdder adder : solutionLengths) {
+			adder.reset();
+		}
+	}
+
+	private static LongAdder[] newAdders(int count) {
+		LongAdder[] adders = new LongAdder[count];
+		for (int i = 0; i < count; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	// histogram trimmed after its last non-empty bucket
+	private static long[] sums(LongAdder[] adders) {
+		long[] sums = new long[adders.length];
+		int length = 0;
+		for (int i = 0; i < adders.length; i++) {
+			sums[i] = adders[i].sum();
+			if (sums[i] != 0) {
+				length = i + 1;
+			}
+		}
+		return Arrays.copyOf(sums, length);
+	}
+
+	// engine that records the stats of each solve into the metrics and as a flight recorder event
+	// closing it closes the wrapped engine if that is Closeable, such as the worker threads of HdaStarSolver
+	private static class Instrumented implements SearchEngine, Closeable {
+		private final SearchEngine engine;
+		private final String name;
+		private SearchStats last;
+
+		Instrumented(SearchEngine engine) {
+			this.engine = engine;
+			name = engine.getClass().getSimpleName();
+		}
+
+		@Override
+		public Puzzle solve(Puzzle puzzle) {
+			SolveEvent event = new SolveEvent();
+			event.begin();
+			long start = System.nanoTime();
+			Puzzle solution = engine.solve(puzzle);
+			long nanos = System.nanoTime() - start;
+			event.end();
+			last = new SearchStats(name, solution == null ? -1 : solution.getDepth(), engine.getNodesGenerated(),
+					engine.getNodesExpanded(), engine.getDuplicates(), engine.getPeakOpen(), nanos);
+			INSTANCE.record(last);
+			if (event.shouldCommit()) {
+				event.engine = name;
+				event.solutionLength = last.getSolutionLength();
+				event.nodesGenerated = last.getNodesGenerated();
+				event.nodesExpanded = last.getNodesExpanded();
+				event.duplicates = last.getDuplicates();
+				event.peakOpen = last.getPeakOpen();
+				event.commit();
+			}
+			return solution;
+		}
+
+		@Override
+		public long getNodesGenerated() {
+			return engine.getNodesGenerated();
+		}
+
+		@Override
+		public long getNodesExpanded() {
+			return engine.getNodesExpanded();
+		}
+
+		@Override
+		public long getDuplicates() {
+			return engine.getDuplicates();
+		}
+
+		@Override
+		public int getPeakOpen() {
+			return engine.getPeakOpen();
+		}
+
+		@Override
+		public SearchStats getStats() {
+			return last;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (engine instanceof Closeable) {
+				((Closeable) engine).close();
+			}
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package eightPuzzle;
+
+// management interface of SearchMetrics, as seen over JMX
+public interface SearchMetricsMBean {
+	long getSolves();
+
+	long getUnsolved();
+
+	long getNodesGenerated();
+
+	long getNodesExpanded();
+
+	long getDuplicates();
+
+	long getTotalNanos();
+
+	long getMaxPeakOpen();
+
+	// solves by time taken, bucket i counts the solves of [2^i, 2^(i+1)) microseconds, bucket 0 also below 1
+	long[] getSolveTimeHistogram();
+
+	// solved puzzles by solution length, the last bucket also counts every longer solution
+	long[] getSolutionLengthHistogram();
+
+	void reset();
+}
@@ -0,0 +1,69 @@
+package eightPuzzle;
+
+// what one solve did: its engine, solution length, node counts and time
+// duplicates and peak open list size are only counted by engines that keep them while metrics are enabled
+public final class SearchStats {
+	private final String engine;
+	private final int solutionLength;
+	private final long nodesGenerated;
+	private final long nodesExpanded;
+	private final long duplicates;
+	private final int peakOpen;
+	private final long nanos;
+
+	// solution length is -1 when no solution was found
+	public SearchStats(String engine, int solutionLength, long nodesGenerated, long nodesExpanded, long duplicates,
+			int peakOpen, long nanos) {
+		this.engine = engine;
+		this.solutionLength = solutionLength;
+		this.nodesGenerated = nodesGenerated;
+		this.nodesExpanded = nodesExpanded;
+		this.duplicates = duplicates;
+		this.peakOpen = peakOpen;
+		this.nanos = nanos;
+	}
+
+	public String getEngine() {
+		return engine;
+	}
+
+	public boolean isSolved() {
+		return solutionLength >= 0;
+	}
+
+	public int getSolutionLength() {
+		return solutionLength;
+	}
+
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	public long getDuplicates() {
+		return duplicates;
+	}
+
+	// share of the generated nodes dropped as duplicates
+	public double getDuplicateRate() {
+		return nodesGenerated == 0 ? 0 : (double) duplicates / nodesGenerated;
+	}
+
+	public int getPeakOpen() {
+		return peakOpen;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	@Override
+	public String toString() {
+		return engine + ": length " + solutionLength + ", generated " + nodesGenerated + ", expanded "
+				+ nodesExpanded + ", duplicates " + duplicates + ", peak open " + peakOpen + ", "
+				+ nanos / 1000 + " us";
+	}
+}
@@ -0,0 +1,272 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// memory-bounded A* (SMA*) that never holds more than a fixed number of nodes, all allocated up front, so
+// the footprint of a solver is known when it is made
+// the search tree lives in parallel arrays with a free list; the deepest node of lowest f is expanded into
+// all of its children, and when there is no room for them the shallowest leaf of highest f is pruned and its
+// f is kept by its parent, which is back in the open list at the lowest f it forgot to regrow what it lost
+// f is kept monotone along paths (pathmax), so every open key is a lower bound on the paths it stands for
+// and the first goal reached is optimal, as long as the solution is at most 'maxNodes' - 4 moves deep:
+// expanding a node needs room for its path from the start plus its children, deeper nodes get an infinite
+// f and are the first to be pruned
+// there is no explored set, a state reached by several paths is kept once per path
+public class SmaStarSolver implements SearchEngine {
+	private static final int NONE = IndexedHeap.NONE;
+	private static final int INFINITE = Integer.MAX_VALUE;
+	// most children a node can have, the room it needs beyond its path to be expanded
+	private static final int CHILDREN = 4;
+
+	private final Heuristic heuristic;
+	private final int capacity;
+	// state, blank cell, g and h of each node, with its parent, first child and next sibling
+	private final long[] states;
+	private final byte[] blanks;
+	private final int[] g;
+	private final int[] h;
+	private final int[] parents;
+	private final int[] children;
+	private final int[] siblings;
+	// f of a node not yet expanded, or the lowest f of the pruned children of an expanded one
+	private final int[] keys;
+	// f each pruned child had, by its place among the blank's neighbours, so it regrows with it
+	private final int[] forgotten;
+	private final boolean[] expanded;
+	// nodes with anything to expand, lowest key and deepest first, and nodes without children to prune,
+	// highest key and shallowest first
+	private final IndexedHeap open;
+	private final IndexedHeap leaves;
+	// first free node, free nodes are chained through 'siblings', the next node never used and the nodes in use
+	private int free;
+	private int top;
+	private int used;
+	private Board board;
+	private int root;
+
+	private long nodesGenerated;
+	private long nodesExpanded;
+
+	public SmaStarSolver(Heuristic heuristic, int maxNodes) {
+		if (maxNodes <= CHILDREN) {
+			throw new IllegalArgumentException("SMA* needs room for more than " + CHILDREN + " nodes");
+		}
+		this.heuristic = heuristic;
+		capacity = maxNodes;
+		states = new long[maxNodes];
+		blanks = new byte[maxNodes];
+		g = new int[maxNodes];
+		h = new int[maxNodes];
+		parents = new int[maxNodes];
+		children = new int[maxNodes];
+		siblings = new int[maxNodes];
+		keys = new int[maxNodes];
+		forgotten = new int[maxNodes * CHILDREN];
+		expanded = new boolean[maxNodes];
+		open = new IndexedHeap(maxNodes);
+		leaves = new IndexedHeap(maxNodes);
+	}
+
+	// return an optimal goal puzzle, or null if it cannot be solved or its solution does not fit the budget
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+		board = puzzle.getBoard();
+		long start = puzzle.getState();
+		if (!board.isSolvable(start)) {
+			return null;
+		}
+		free = NONE;
+		top = 0;
+		used = 0;
+		int estimate = heuristic.estimate(board, start);
+		root = add(start, puzzle.getBlank(), 0, estimate, estimate, NONE);
+
+		Puzzle solution = null;
+		int node;
+		while ((node = open.peek()) != NONE) {
+			if (!expanded[node] && states[node] == board.getGoal()) {
+				solution = toPuzzle(node);
+				break;
+			}
+			expand(node);
+		}
+		open.clear();
+		leaves.clear();
+		return solution;
+	}
+
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	public int getMaxNodes() {
+		return capacity;
+	}
+
+	// make every child of a node that is not in memory, pruning leaves to make room for them
+	private void expand(int node) {
+		nodesExpanded++;
+		long state = states[node];
+		int to = blanks[node];
+		int[] cells = board.neighbours(to);
+
+		// the node and the children it still has must survive the pruning, though a child that loses its
+		// own children becomes a leaf and may go
+		leaves.remove(node);
+		for (int c = children[node]; c != NONE; c = siblings[c]) {
+			leaves.remove(c);
+		}
+		while (capacity - used < missing(node, state, to, cells)) {
+			int worst = leaves.peek();
+			if (worst == NONE) {
+				throw new IllegalStateException("No leaf left to prune");
+			}
+			prune(worst, node);
+		}
+		for (int c = children[node]; c != NONE; c = siblings[c]) {
+			if (children[c] == NONE && !leaves.contains(c)) {
+				leaves.add(c, leafPriority(c));
+			}
+		}
+
+		// a regrown child keeps the f it was pruned with
+		int depth = g[node] + 1;
+		for (int i = 0; i < cells.length; i++) {
+			int from = cells[i];
+			long child = Puzzle.slide(state, to, from);
+			if (!isMissing(node, child)) {
+				continue;
+			}
+			nodesGenerated++;
+			int childH = heuristic.update(board, h[node], state, from, to);
+			int key = Math.max(Math.max(keys[node], forgotten[node * CHILDREN + i]), depth + childH);
+			if (depth > capacity - CHILDREN - 1 && child != board.getGoal()) {
+				// its path and children would not fit
+				key = INFINITE;
+			}
+			add(child, from, depth, childH, key, node);
+		}
+		expanded[node] = true;
+		keys[node] = INFINITE;
+		open.remove(node);
+	}
+
+	// number of children of a node not in memory
+	private int missing(int node, long state, int to, int[] cells) {
+		int missing = 0;
+		for (int from : cells) {
+			if (isMissing(node, Puzzle.slide(state, to, from))) {
+				missing++;
+			}
+		}
+		return missing;
+	}
+
+	// whether a child state is neither the parent's state nor a child still in memory
+	private boolean isMissing(int node, long child) {
+		if (parents[node] != NONE && states[parents[node]] == child) {
+			return false;
+		}
+		for (int c = children[node]; c != NONE; c = siblings[c]) {
+			if (states[c] == child) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int add(long state, int blank, int depth, int estimate, int key, int parent) {
+		int node;
+		if (free != NONE) {
+			node = free;
+			free = siblings[node];
+		} else {
+			node = top++;
+		}
+		used++;
+		states[node] = state;
+		blanks[node] = (byte) blank;
+		g[node] = depth;
+		h[node] = estimate;
+		keys[node] = key;
+		Arrays.fill(forgotten, node * CHILDREN, node * CHILDREN + CHILDREN, 0);
+		expanded[node] = false;
+		parents[node] = parent;
+		children[node] = NONE;
+		siblings[node] = NONE;
+		if (parent != NONE) {
+			siblings[node] = children[parent];
+			children[parent] = node;
+			leaves.add(node, leafPriority(node));
+		}
+		if (key != INFINITE) {
+			open.add(node, openPriority(node));
+		}
+		return node;
+	}
+
+	// drop a leaf, its parent remembers its f and is open again to regrow it
+	// the node being expanded is not made a leaf even if it loses its last child
+	private void prune(int leaf, int expanding) {
+		leaves.remove(leaf);
+		open.remove(leaf);
+		int parent = parents[leaf];
+		if (children[parent] == leaf) {
+			children[parent] = siblings[leaf];
+		} else {
+			int c = children[parent];
+			while (siblings[c] != leaf) {
+				c = siblings[c];
+			}
+			siblings[c] = siblings[leaf];
+		}
+		int[] cells = board.neighbours(blanks[parent]);
+		int i = 0;
+		while (cells[i] != blanks[leaf]) {
+			i++;
+		}
+		forgotten[parent * CHILDREN + i] = keys[leaf];
+		if (keys[leaf] < keys[parent]) {
+			keys[parent] = keys[leaf];
+			open.remove(parent);
+			open.add(parent, openPriority(parent));
+		}
+		if (children[parent] == NONE && parent != root && parent != expanding) {
+			leaves.add(parent, leafPriority(parent));
+		}
+		siblings[leaf] = free;
+		free = leaf;
+		used--;
+	}
+
+	// deeper nodes of the same key come first, so a subtree is searched to the end before its parent regrows
+	private long openPriority(int node) {
+		return (long) keys[node] << 32 | Integer.MAX_VALUE - g[node];
+	}
+
+	// shallower leaves of the same key go first, they cost the least work to grow back
+	private long leafPriority(int node) {
+		return -openPriority(node);
+	}
+
+	// link the path from the start to a node
+	private Puzzle toPuzzle(int node) {
+		int[] path = new int[g[node] + 1];
+		for (int n = node; n != NONE; n = parents[n]) {
+			path[g[n]] = n;
+		}
+		Puzzle p = null;
+		for (int n : path) {
+			p = new Puzzle(board, states[n], blanks[n], g[n], h[n], p);
+		}
+		return p;
+	}
+}
@@ -0,0 +1,231 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// bounded cache of optimal solutions, keyed by packed state
+// every state on a recorded optimal path is stored with its exact distance to the goal and the cell the
+// blank moves to next, so any later puzzle starting at one of them is solved by replaying the moves, in
+// O(remaining depth), without a search
+// a state and its transpose share one entry under their canonical state (see Board.canonical()), the path of
+// one being the mirror of the path of the other, so a solution also answers its mirror image
+// packed states of different board sizes never collide, a larger board has tiles in the higher cells
+// entries live in primitive arrays, about 21 bytes per state, found through an open addressing index; when
+// the cache is full the clock hand evicts the first state not used since it last passed (CLOCK, close to
+// least recently used)
+// thread safe, one cache can be shared by the solvers of several threads; the lock is only held to read or
+// change the arrays, the puzzles of a hit are built outside it
+public class SolutionCache {
+	// most states a cache can hold, so its index still fits an int array
+	public static final int MAX_CAPACITY = 1 << 29;
+
+	// returned by lookup() for a state that is not cached
+	private static final int MISSING = -1;
+
+	private final int capacity;
+	// canonical state of each entry
+	private final long[] keys;
+	// distance and next blank cell of each entry, packed as distance << 8 | cell
+	private final int[] values;
+	// whether each entry was used since the clock hand last passed it
+	private final boolean[] referenced;
+	// entry + 1 held by each slot of the index, 0 for an empty slot; at most half of the slots are used
+	private final int[] slots;
+	private final int mask;
+	private int size;
+	// next entry the clock looks at when one must be evicted
+	private int hand;
+	private long hits;
+	private long misses;
+
+	// cache of at most 'capacity' states
+	public SolutionCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Cache needs room for at least one state");
+		}
+		if (capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException("Cache holds at most " + MAX_CAPACITY + " states");
+		}
+		this.capacity = capacity;
+		keys = new long[capacity];
+		values = new int[capacity];
+		referenced = new boolean[capacity];
+		slots = new int[Integer.highestOneBit(Math.max(16, capacity * 2) - 1) << 1];
+		mask = slots.length - 1;
+	}
+
+	// return the goal puzzle linked back to the given one by an optimal path, or null if the puzzle or a
+	// state on its path is not cached
+	public Puzzle get(Puzzle puzzle) {
+		Board board = puzzle.getBoard();
+		long state = puzzle.getState();
+		if (state == board.getGoal()) {
+			synchronized (this) {
+				hits++;
+			}
+			return new Puzzle(board, state, puzzle.getBlank(), 0, 0, null);
+		}
+		// cell the blank moves to on each move of the path
+		int[] cells;
+		synchronized (this) {
+			int entry = lookup(board, state);
+			if (entry == MISSING) {
+				misses++;
+				return null;
+			}
+			cells = new int[entry >>> 8];
+			long s = state;
+			int blank = puzzle.getBlank();
+			for (int i = 0; i < cells.length; i++) {
+				cells[i] = entry & 0xFF;
+				s = Puzzle.slide(s, blank, cells[i]);
+				blank = cells[i];
+				if (i + 1 < cells.length && (entry = lookup(board, s)) == MISSING) {
+					// the rest of the path was evicted
+					misses++;
+					return null;
+				}
+			}
+			hits++;
+		}
+		Puzzle p = new Puzzle(board, state, puzzle.getBlank(), 0, cells.length, null);
+		for (int i = 0; i < cells.length; i++) {
+			state = Puzzle.slide(state, p.getBlank(), cells[i]);
+			p = new Puzzle(board, state, cells[i], i + 1, cells.length - i - 1, p);
+		}
+		return p;
+	}
+
+	// record every state of an optimal solution, given as its goal puzzle linked back to the start
+	public void put(Puzzle solution) {
+		Board board = solution.getBoard();
+		int length = 0;
+		for (Puzzle p = solution; p.getParent() != null; p = p.getParent()) {
+			length++;
+		}
+		// keys and entries are worked out before taking the lock
+		long[] pathKeys = new long[length];
+		int[] pathValues = new int[length];
+		Puzzle p = solution;
+		for (int remaining = 1; remaining <= length; remaining++) {
+			long state = p.getParent().getState();
+			long key = board.canonical(state);
+			int cell = key == state ? p.getBlank() : board.transposeCell(p.getBlank());
+			pathKeys[remaining - 1] = key;
+			pathValues[remaining - 1] = remaining << 8 | cell;
+			p = p.getParent();
+		}
+		synchronized (this) {
+			for (int i = 0; i < length; i++) {
+				insert(pathKeys[i], pathValues[i]);
+			}
+		}
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	// share of lookups that were hits, 0 before the first lookup
+	public synchronized double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	public synchronized void clear() {
+		Arrays.fill(slots, 0);
+		Arrays.fill(referenced, false);
+		size = 0;
+		hand = 0;
+		hits = 0;
+		misses = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "SolutionCache(" + size + "/" + capacity + " states, " + hits + " hits, " + misses + " misses)";
+	}
+
+	// entry of a state with its next blank cell mirrored back if the state is stored as its transpose, or
+	// MISSING; marks the entry as used
+	private int lookup(Board board, long state) {
+		long key = board.canonical(state);
+		int e = find(key);
+		if (e == MISSING) {
+			return MISSING;
+		}
+		referenced[e] = true;
+		int entry = values[e];
+		if (key == state) {
+			return entry;
+		}
+		return entry & ~0xFF | board.transposeCell(entry & 0xFF);
+	}
+
+	// set the value of a key, taking a free entry or the one the clock evicts if it is new
+	private void insert(long key, int value) {
+		int e = find(key);
+		if (e == MISSING) {
+			e = size < capacity ? size++ : evict();
+			keys[e] = key;
+			int slot = LongIntMap.hash(key) & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = e + 1;
+		}
+		values[e] = value;
+		referenced[e] = true;
+	}
+
+	// entry of a key, or MISSING
+	private int find(long key) {
+		for (int slot = LongIntMap.hash(key) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+			int e = slots[slot] - 1;
+			if (keys[e] == key) {
+				return e;
+			}
+		}
+		return MISSING;
+	}
+
+	// free the first entry the clock hand finds unused since it last passed, clearing the others on its way
+	private int evict() {
+		while (referenced[hand]) {
+			referenced[hand] = false;
+			hand = hand + 1 == capacity ? 0 : hand + 1;
+		}
+		int e = hand;
+		hand = hand + 1 == capacity ? 0 : hand + 1;
+		remove(keys[e]);
+		return e;
+	}
+
+	// take a key out of the index, shifting back the later slots of its run so every key stays reachable
+	private void remove(long key) {
+		int hole = LongIntMap.hash(key) & mask;
+		while (keys[slots[hole] - 1] != key) {
+			hole = (hole + 1) & mask;
+		}
+		for (int slot = (hole + 1) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+			int home = LongIntMap.hash(keys[slots[slot] - 1]) & mask;
+			// the key can fill the hole if the hole lies between its home slot and its slot
+			if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+				slots[hole] = slots[slot];
+				hole = slot;
+			}
+		}
+		slots[hole] = 0;
+	}
+}
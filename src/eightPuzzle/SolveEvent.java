@@ -0,0 +1,33 @@
+package eightPuzzle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// flight recorder event of one solve, its duration is the time of the solve
+@Name("eightPuzzle.Solve")
+@Label("Puzzle Solve")
+@Category("Eight Puzzle")
+@Description("One puzzle solved by a search engine")
+class SolveEvent extends Event {
+	@Label("Engine")
+	String engine;
+
+	@Label("Solution Length")
+	@Description("Moves in the solution, -1 when none was found")
+	int solutionLength;
+
+	@Label("Nodes Generated")
+	long nodesGenerated;
+
+	@Label("Nodes Expanded")
+	long nodesExpanded;
+
+	@Label("Duplicates")
+	long duplicates;
+
+	@Label("Peak Open")
+	int peakOpen;
+}
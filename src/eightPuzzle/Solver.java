@@ -0,0 +1,130 @@
+package eightPuzzle;
+
+// A* solver owning its node pool, open list, explored states and counters
+// a state reached again by a shorter path replaces its earlier node, whose open list entry is then
+// skipped, so the first goal polled is optimal for a consistent heuristic
+// a solver is not thread safe, use one solver per thread, as BatchSolver does
+public class Solver implements SearchEngine {
+	private final Heuristic heuristic;
+	// every node generated by the current solve, reused by the next one
+	private final NodePool nodes = new NodePool(1 << 16);
+	// open list of node indices ordered by f
+	private final OpenList queue;
+	// node with the shortest known path to each explored state
+	private final LongIntMap explored = new LongIntMap(1 << 16);
+	// board of the current solve
+	private Board board;
+
+	// counters of the last solve, duplicates and peak open only while metrics are enabled
+	private long nodesGenerated;
+	private long nodesExpanded;
+	private long duplicates;
+	private int peakOpen;
+
+	public Solver(Heuristic heuristic) {
+		this(heuristic, new BucketOpenList());
+	}
+
+	public Solver(Heuristic heuristic, OpenList queue) {
+		this.heuristic = heuristic;
+		this.queue = queue;
+	}
+
+	// solve puzzle using the open list with heuristic and explored set
+	// return the goal puzzle linked to the start through its parents, or null if it cannot be solved
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+		duplicates = 0;
+		peakOpen = 0;
+		// root node carries its full heuristic value, children update it incrementally
+		board = puzzle.getBoard();
+		long state = puzzle.getState();
+		int node = nodes.add(state, puzzle.getBlank(), 0, heuristic.estimate(board, state), NodePool.NONE);
+		explored.put(state, node);
+		Puzzle solution = null;
+		while (node != NodePool.NONE) {
+			state = nodes.state(node);
+			if (state == board.getGoal()) {
+				solution = nodes.toPuzzle(board, node);
+				break;
+			}
+			// expand only the node holding the shortest path to its state
+			if (explored.get(state) == node) {
+				nodesGenerated += expand(node);
+				nodesExpanded++;
+				if (SearchMetrics.ENABLED && queue.size() > peakOpen) {
+					peakOpen = queue.size();
+				}
+			}
+			node = queue.poll();
+		}
+		
+		clear();
+		
+		return solution;
+	}
+
+	// forget the nodes, open list and explored states of the last solve
+	void clear() {
+		nodes.reset();
+		explored.clear();
+		queue.clear();
+	}
+
+	// number of puzzle nodes generated by the last solve, including duplicates
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	// number of puzzle nodes expanded by the last solve
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	@Override
+	public long getDuplicates() {
+		return duplicates;
+	}
+
+	@Override
+	public int getPeakOpen() {
+		return peakOpen;
+	}
+
+	public Heuristic getHeuristic() {
+		return heuristic;
+	}
+
+	// add a puzzle as a node and expand it, return number of puzzle nodes generated
+	int generateNextPuzzles(Puzzle p) {
+		board = p.getBoard();
+		return expand(nodes.add(p.getState(), p.getBlank(), p.getDepth(), p.getH(), NodePool.NONE));
+	}
+
+	// slide each tile next to the blank into it, queueing the children not yet reached by a path as short
+	// a move never changes solvability, so children are not checked
+	// return number of puzzle nodes generated, possible 2,3,4
+	private int expand(int node) {
+		long state = nodes.state(node);
+		int to = nodes.blank(node);
+		int g = nodes.g(node) + 1;
+		int[] cells = board.neighbours(to);
+		for (int from : cells) {
+			long child = Puzzle.slide(state, to, from);
+			int known = explored.get(child);
+			if (known == LongIntMap.MISSING || nodes.g(known) > g) {
+				int h = heuristic.update(board, nodes.h(node), state, from, to);
+				int c = nodes.add(child, from, g, h, node);
+				explored.put(child, c);
+				queue.add(c, g + h, g);
+			} else if (SearchMetrics.ENABLED) {
+				duplicates++;
+			}
+		}
+		return cells.length;
+	}
+}
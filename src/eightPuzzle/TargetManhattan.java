@@ -0,0 +1,38 @@
+package eightPuzzle;
+
+// Manhattan distance towards any target state instead of the goal, used to search backwards to a start
+public class TargetManhattan implements Heuristic {
+	// cell of each tile in the target
+	private final int[] targetCells;
+
+	public TargetManhattan(Board board, long target) {
+		targetCells = new int[board.getSize()];
+		for (int cell = 0; cell < targetCells.length; cell++) {
+			targetCells[Puzzle.tileAt(target, cell)] = cell;
+		}
+	}
+
+	// the goal cell of tile i is cell i, so Board.distance(a, b) is the distance between cells a and b
+	@Override
+	public int estimate(Board board, long state) {
+		int h = 0;
+		for (int i = 0; i < board.getSize(); i++) {
+			int tile = Puzzle.tileAt(state, i);
+			if (tile != 0) {
+				h += board.distance(targetCells[tile], i);
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public int update(Board board, int h, long state, int from, int to) {
+		int target = targetCells[Puzzle.tileAt(state, from)];
+		return h + board.distance(target, to) - board.distance(target, from);
+	}
+
+	@Override
+	public String toString() {
+		return "TargetManhattan";
+	}
+}
@@ -0,0 +1,68 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// LIFO stacks of nodes for every (f, k) pair with k <= f, and the number of nodes with each f
+// the open lists order nodes by f and a second value at most f, g for A* and h for focal search
+class TriangularStacks {
+	// stacks stored row by row at index f*(f+1)/2 + k
+	private int[][] stacks = new int[0][];
+	private int[] stackSizes = new int[0];
+	private int[] bucketSizes = new int[0];
+
+	public void push(int node, int f, int k) {
+		if (f >= bucketSizes.length) {
+			grow(f);
+		}
+		int slot = slot(f, k);
+		int[] stack = stacks[slot];
+		if (stackSizes[slot] == stack.length) {
+			stack = stacks[slot] = Arrays.copyOf(stack, Math.max(8, stack.length << 1));
+		}
+		stack[stackSizes[slot]++] = node;
+		bucketSizes[f]++;
+	}
+
+	// remove and return the last node pushed with (f, k), which must not be empty
+	public int pop(int f, int k) {
+		int slot = slot(f, k);
+		bucketSizes[f]--;
+		return stacks[slot][--stackSizes[slot]];
+	}
+
+	public boolean isEmpty(int f, int k) {
+		return stackSizes[slot(f, k)] == 0;
+	}
+
+	// number of nodes with the given f, which must be below rows()
+	public int count(int f) {
+		return bucketSizes[f];
+	}
+
+	// number of f values with room for nodes, 0 to rows() - 1
+	public int rows() {
+		return bucketSizes.length;
+	}
+
+	public void clear() {
+		Arrays.fill(stackSizes, 0);
+		Arrays.fill(bucketSizes, 0);
+	}
+
+	private static int slot(int f, int k) {
+		return f * (f + 1) / 2 + k;
+	}
+
+	// add rows up to at least f, doubling to keep growth rare
+	private void grow(int f) {
+		int rows = Math.max(f + 1, bucketSizes.length << 1);
+		int oldSlots = stacks.length;
+		int slots = slot(rows, 0);
+		stacks = Arrays.copyOf(stacks, slots);
+		for (int i = oldSlots; i < slots; i++) {
+			stacks[i] = new int[0];
+		}
+		stackSizes = Arrays.copyOf(stackSizes, slots);
+		bucketSizes = Arrays.copyOf(bucketSizes, rows);
+	}
+}
@@ -0,0 +1,47 @@
+package eightPuzzle;
+
+import java.util.Arrays;
+
+// number of open nodes with each small non-negative value, such as f or g, and the lowest value present
+// the lowest value is found by a cursor that only moves back when a lower value is added
+class ValueCounts {
+	private int[] counts = new int[64];
+	private int size;
+	private int min;
+
+	public void add(int value) {
+		if (value >= counts.length) {
+			counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length << 1));
+		}
+		counts[value]++;
+		if (size++ == 0 || value < min) {
+			min = value;
+		}
+	}
+
+	public void remove(int value) {
+		counts[value]--;
+		size--;
+	}
+
+	// lowest value counted, MAX_VALUE when empty
+	public int min() {
+		if (size == 0) {
+			return Integer.MAX_VALUE;
+		}
+		while (counts[min] == 0) {
+			min++;
+		}
+		return min;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(counts, 0);
+		size = 0;
+		min = 0;
+	}
+}
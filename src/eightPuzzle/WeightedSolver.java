@@ -0,0 +1,158 @@
+package eightPuzzle;
+
+import java.util.BitSet;
+
+// weighted A*: nodes are expanded by g + w * h, so the search trusts the heuristic more and reaches a goal
+// sooner, at a cost of at most w times the optimal one for an admissible heuristic
+// the open list also counts its nodes by f = g + h, whose lowest value is a lower bound on the optimal cost
+// that AnytimeSolver uses to prove how close a solution is
+public class WeightedSolver implements SearchEngine {
+	// weights are applied in fixed point, 1/256 of a move
+	private static final int ONE = 256;
+	// expansions between checks of the deadline
+	private static final int DEADLINE_INTERVAL = 1024;
+
+	private final Heuristic heuristic;
+	private final int weight;
+	private final NodePool nodes = new NodePool(1 << 16);
+	private final LongIntMap explored = new LongIntMap(1 << 16);
+	// open nodes ordered by g + w * h, and counted by f
+	private final HeapOpenList open = new HeapOpenList();
+	private final BitSet waiting = new BitSet();
+	private final ValueCounts f = new ValueCounts();
+	private Board board;
+
+	// lowest f of the open nodes when the last goal was reached, and whether the last search ran out of time
+	private int lowerBound;
+	private boolean timedOut;
+
+	private long nodesGenerated;
+	private long nodesExpanded;
+
+	public WeightedSolver(Heuristic heuristic, double weight) {
+		if (weight < 1) {
+			throw new IllegalArgumentException("Weight must be at least 1");
+		}
+		this.heuristic = heuristic;
+		this.weight = (int) Math.round(weight * ONE);
+	}
+
+	// return a goal puzzle at most w times further than the optimal one, or null if it cannot be solved
+	@Override
+	public Puzzle solve(Puzzle puzzle) {
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+		int goal = search(puzzle, Integer.MAX_VALUE, 0);
+		Puzzle solution = goal == NodePool.NONE ? null : nodes.toPuzzle(board, goal);
+		clear();
+		return solution;
+	}
+
+	@Override
+	public long getNodesGenerated() {
+		return nodesGenerated;
+	}
+
+	@Override
+	public long getNodesExpanded() {
+		return nodesExpanded;
+	}
+
+	public double getWeight() {
+		return (double) weight / ONE;
+	}
+
+	// search for a goal cheaper than 'cutoff', ignoring nodes whose f reaches it, until 'deadline' as a
+	// System.nanoTime() value or forever if it is 0
+	// return the goal node, or NONE if every cheaper path was ruled out or the deadline passed
+	// counters add up over calls, the nodes are kept until clear()
+	int search(Puzzle puzzle, int cutoff, long deadline) {
+		clear();
+		timedOut = false;
+		board = puzzle.getBoard();
+		long state = puzzle.getState();
+		int h = heuristic.estimate(board, state);
+		if (h < cutoff) {
+			add(state, puzzle.getBlank(), 0, h, NodePool.NONE, LongIntMap.MISSING);
+		}
+		int node;
+		while ((node = open.poll()) != NodePool.NONE) {
+			if (!waiting.get(node)) {
+				// superseded by a shorter path to its state
+				continue;
+			}
+			leave(node);
+			state = nodes.state(node);
+			if (state == board.getGoal()) {
+				lowerBound = Math.min(nodes.g(node), f.min());
+				return node;
+			}
+			if (deadline != 0 && nodesExpanded % DEADLINE_INTERVAL == 0 && System.nanoTime() - deadline >= 0) {
+				timedOut = true;
+				return NodePool.NONE;
+			}
+			nodesExpanded++;
+			int to = nodes.blank(node);
+			int g = nodes.g(node) + 1;
+			int[] cells = board.neighbours(to);
+			nodesGenerated += cells.length;
+			for (int from : cells) {
+				long child = Puzzle.slide(state, to, from);
+				int known = explored.get(child);
+				if (known != LongIntMap.MISSING && nodes.g(known) <= g) {
+					continue;
+				}
+				h = heuristic.update(board, nodes.h(node), state, from, to);
+				if (g + h < cutoff) {
+					add(child, from, g, h, node, known);
+				}
+			}
+		}
+		return NodePool.NONE;
+	}
+
+	// lowest f of any open node when the last search reached its goal, a lower bound on the optimal cost
+	// of paths below the cutoff
+	int getLowerBound() {
+		return lowerBound;
+	}
+
+	boolean isTimedOut() {
+		return timedOut;
+	}
+
+	// goal puzzle of a node found by the last search, linked back to its start
+	Puzzle toPuzzle(int node) {
+		return nodes.toPuzzle(board, node);
+	}
+
+	void resetCounters() {
+		nodesGenerated = 0;
+		nodesExpanded = 0;
+	}
+
+	void clear() {
+		nodes.reset();
+		explored.clear();
+		open.clear();
+		waiting.clear();
+		f.clear();
+	}
+
+	// store a node replacing the open node 'known' of the same state, if any
+	private void add(long state, int blank, int g, int h, int parent, int known) {
+		if (known != LongIntMap.MISSING && waiting.get(known)) {
+			leave(known);
+		}
+		int node = nodes.add(state, blank, g, h, parent);
+		explored.put(state, node);
+		waiting.set(node);
+		f.add(g + h);
+		open.add(node, g * ONE + weight * h, g);
+	}
+
+	private void leave(int node) {
+		waiting.clear(node);
+		f.remove(nodes.f(node));
+	}
+}